@@ -0,0 +1,61 @@
+package functions.benchmarks;
+
+import functions.ChebyshevApproximation;
+import functions.Function;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures valueAt of a tree against its piecewise Chebyshev approximation with a relative
+ * tolerance of 1e-10, on 1024 evenly spaced points of the interval the approximation covers:
+ * [-1, 1] for pow2 and [1, 3] for massiveFunc.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ApproximationBenchmark {
+    @Param({"pow2", "massiveFunc"})
+    public String function;
+
+    private Function tree;
+    private ChebyshevApproximation approximation;
+    private final double[] xs = new double[1024];
+    private int next;
+
+    @Setup
+    public void setUp(){
+        tree = Trees.named(function);
+        double a = function.equals("pow2") ? -1 : 1;
+        double b = function.equals("pow2") ? 1 : 3;
+        approximation = tree.approximate(a, b, 1e-10);
+        for ( int i = 0 ; i < xs.length ; i++ ){
+            xs[i] = a + (b - a) * i / (xs.length - 1);
+        }
+    }
+
+    @Benchmark
+    public double tree(){
+        next = (next + 1) & (xs.length - 1);
+        return tree.valueAt(xs[next]);
+    }
+
+    @Benchmark
+    public double approximation(){
+        next = (next + 1) & (xs.length - 1);
+        return approximation.valueAt(xs[next]);
+    }
+}
@@ -0,0 +1,61 @@
+package functions.benchmarks;
+
+import functions.Function;
+import functions.MultiProduct;
+import functions.SlotProgram;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures valueAt of derivative chains before and after common-subexpression elimination.
+ * The node evaluations per point of both, which the times follow, are printed by
+ * testCommonSubexpressions of Main.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CommonSubexpressionBenchmark {
+    @Param({"multiProduct", "pow2", "massiveFunc"})
+    public String function;
+
+    @Param({"1", "2", "3"})
+    public int depth;
+
+    private Function derivative;
+    private SlotProgram program;
+
+    @Setup
+    public void setUp(){
+        derivative = function.equals("multiProduct")
+                ? new MultiProduct(Trees.POLY1, Trees.POLY2, Trees.QUOTIENT3, Trees.POW1)
+                : Trees.named(function);
+        for ( int i = 0 ; i < depth ; i++ ){
+            derivative = derivative.derivative();
+        }
+        program = derivative.eliminateCommonSubexpressions();
+    }
+
+    @Benchmark
+    public double tree(){
+        return derivative.valueAt(1.25);
+    }
+
+    @Benchmark
+    public double eliminated(){
+        return program.valueAt(1.25);
+    }
+}
@@ -0,0 +1,68 @@
+package functions.benchmarks;
+
+import functions.Function;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures building chains of derivatives, and evaluating the last derivative of the chain
+ * as it is built and after simplification.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DerivativeBenchmark {
+    @Param({"pow2", "massiveFunc"})
+    public String function;
+
+    @Param({"1", "2", "3", "4"})
+    public int depth;
+
+    private Function tree;
+    private Function derivative;
+    private Function simplified;
+
+    @Setup
+    public void setUp(){
+        tree = Trees.named(function);
+        derivative = derive();
+        simplified = derivative.simplify();
+    }
+
+    @Benchmark
+    public Function derivative(){
+        return derive();
+    }
+
+    @Benchmark
+    public double derivativeValueAt(){
+        return derivative.valueAt(1.25);
+    }
+
+    @Benchmark
+    public double simplifiedValueAt(){
+        return simplified.valueAt(1.25);
+    }
+
+    private Function derive(){
+        Function result = tree;
+        for ( int i = 0 ; i < depth ; i++ ){
+            result = result.derivative();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,73 @@
+package functions.benchmarks;
+
+import functions.Function;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures valueAt on every node type and on the larger trees of Main,
+ * one point at a time and as a block of points, as a tree, compiled, lowered to a tape
+ * and approximated by Chebyshev series on [-10, 10], the interval the points are drawn from.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EvaluationBenchmark {
+    private static final int POINTS = 1024;
+
+    @Param({"constant", "polynomial", "sum", "difference", "product", "quotient", "negation",
+            "power", "multiSum", "multiProduct", "pow2", "massiveFunc"})
+    public String function;
+
+    @Param({"tree", "compiled", "tape", "chebyshev"})
+    public String form;
+
+    private Function tree;
+    private final double[] xs = new double[POINTS];
+    private final double[] out = new double[POINTS];
+    private int next;
+
+    @Setup
+    public void setUp(){
+        tree = Trees.named(function);
+        if ( form.equals("compiled") )
+            tree = tree.compile();
+        else if ( form.equals("tape") )
+            tree = tree.toTape(ByteBuffer.allocateDirect(tree.toTape().byteSize()));
+        else if ( form.equals("chebyshev") )
+            tree = tree.approximate(-10, 10, 1e-10);
+        Random random = new Random(42);
+        for ( int i = 0 ; i < POINTS ; i++ ){
+            xs[i] = random.nextDouble() * 20 - 10;
+        }
+    }
+
+    @Benchmark
+    public double valueAt(){
+        next = (next + 1) & (POINTS - 1);
+        return tree.valueAt(xs[next]);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public double[] blockValueAt(){
+        tree.valueAt(xs, out);
+        return out;
+    }
+}
@@ -0,0 +1,86 @@
+package functions.benchmarks;
+
+import functions.Constant;
+import functions.Difference;
+import functions.Function;
+import functions.MultiSum;
+import functions.Power;
+import functions.Product;
+import functions.Sum;
+import functions.Variable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the reverse-mode gradient of the Rosenbrock function of n variables against
+ * one evaluation and against central differences, which take 2n evaluations.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GradientBenchmark {
+    @Param({"10", "100", "1000"})
+    public int n;
+
+    private Function rosenbrock;
+    private double[] point;
+
+    @Setup
+    public void setUp(){
+        Variable[] variables = new Variable[n];
+        for ( int i = 0 ; i < n ; i++ ){
+            variables[i] = new Variable(i);
+        }
+        Function[] terms = new Function[n - 1];
+        for ( int i = 0 ; i < n - 1 ; i++ ){
+            terms[i] = new Sum(
+                    new Product(new Constant(100), Power.of(new Difference(variables[i + 1], Power.of(variables[i], 2)), 2)),
+                    Power.of(new Difference(new Constant(1), variables[i]), 2));
+        }
+        rosenbrock = new MultiSum(terms);
+        point = new double[n];
+        for ( int i = 0 ; i < n ; i++ ){
+            point[i] = 1 + 0.5 * Math.sin(i);
+        }
+    }
+
+    @Benchmark
+    public double value(){
+        return rosenbrock.valueAtPoint(point);
+    }
+
+    @Benchmark
+    public double[] gradient(){
+        return rosenbrock.gradientAt(point);
+    }
+
+    @Benchmark
+    public double[] centralDifferences(){
+        double[] gradient = new double[n];
+        double h = 1e-6;
+        for ( int i = 0 ; i < n ; i++ ){
+            double saved = point[i];
+            point[i] = saved + h;
+            double above = rosenbrock.valueAtPoint(point);
+            point[i] = saved - h;
+            double below = rosenbrock.valueAtPoint(point);
+            point[i] = saved;
+            gradient[i] = (above - below) / (2 * h);
+        }
+        return gradient;
+    }
+}
@@ -0,0 +1,66 @@
+package functions.benchmarks;
+
+import functions.Function;
+import functions.Integrator;
+import functions.Negation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures Integrator on a polynomial, exactly and adaptively, on quotient3 on [1, 4]
+ * and on massiveFunc on [1, 3], where it is smooth.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class IntegrationBenchmark {
+    @Param({"1e-6", "1e-10"})
+    public double epsilon;
+
+    private Integrator polynomial;
+    private Integrator adaptivePolynomial;
+    private Integrator quotient3;
+    private Integrator massiveFunc;
+
+    @Setup
+    public void setUp(){
+        polynomial = new Integrator(Trees.POLY1, epsilon, Function.DEFAULT_MAX_ITERATIONS);
+        adaptivePolynomial = new Integrator(new Negation(new Negation(Trees.POLY1)), epsilon, Function.DEFAULT_MAX_ITERATIONS);
+        quotient3 = new Integrator(Trees.QUOTIENT3, epsilon, Function.DEFAULT_MAX_ITERATIONS);
+        massiveFunc = new Integrator(Trees.MASSIVE_FUNC, epsilon, Function.DEFAULT_MAX_ITERATIONS);
+    }
+
+    @Benchmark
+    public double exactPolynomial(){
+        return polynomial.integrate(-2, 3).getValue();
+    }
+
+    @Benchmark
+    public double adaptivePolynomial(){
+        return adaptivePolynomial.integrate(-2, 3).getValue();
+    }
+
+    @Benchmark
+    public double quotient(){
+        return quotient3.integrate(1, 4).getValue();
+    }
+
+    @Benchmark
+    public double massiveFunc(){
+        return massiveFunc.integrate(1, 3).getValue();
+    }
+}
@@ -0,0 +1,63 @@
+package functions.benchmarks;
+
+import functions.Function;
+import functions.Polynomial;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures valueAt of a tree of polynomials against the one Polynomial Polynomial.normalize
+ * collapses it into, on 1024 evenly spaced points of [-10, 10], and the normalization itself.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class NormalizationBenchmark {
+    @Param({"pow2", "multiProduct"})
+    public String function;
+
+    private Function tree;
+    private Function normalized;
+    private final double[] xs = new double[1024];
+    private int next;
+
+    @Setup
+    public void setUp(){
+        tree = Trees.named(function);
+        normalized = Polynomial.normalize(tree);
+        for ( int i = 0 ; i < xs.length ; i++ ){
+            xs[i] = -10 + 20.0 * i / (xs.length - 1);
+        }
+    }
+
+    @Benchmark
+    public double tree(){
+        next = (next + 1) & (xs.length - 1);
+        return tree.valueAt(xs[next]);
+    }
+
+    @Benchmark
+    public double normalized(){
+        next = (next + 1) & (xs.length - 1);
+        return normalized.valueAt(xs[next]);
+    }
+
+    @Benchmark
+    public Function normalize(){
+        return Polynomial.normalize(tree);
+    }
+}
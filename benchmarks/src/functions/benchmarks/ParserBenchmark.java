@@ -0,0 +1,56 @@
+package functions.benchmarks;
+
+import functions.FunctionParser;
+import functions.ParseCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the parse throughput of FunctionParser on the toString output of Main's functions
+ * and on infix text, with and without a ParseCache.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParserBenchmark {
+    @Param({"polynomial", "massiveFunc", "massiveFuncDerivative", "infix"})
+    public String expression;
+
+    private String source;
+    private ParseCache cache;
+
+    @Setup
+    public void setUp(){
+        switch (expression) {
+            case "massiveFunc": source = Trees.MASSIVE_FUNC.toString(); break;
+            case "massiveFuncDerivative": source = Trees.MASSIVE_FUNC.derivative().toString(); break;
+            case "infix": source = "3x^4 - 2x^2 + 1 / (x^2 + 1) - (x - 1) * (x + 2) * (x + 3) / 7"; break;
+            default: source = Trees.POLY2.toString(); break;
+        }
+        cache = new ParseCache(1024);
+    }
+
+    @Benchmark
+    public Object parse(){
+        return FunctionParser.parse(source);
+    }
+
+    @Benchmark
+    public Object cachedParse(){
+        return cache.parse(source);
+    }
+}
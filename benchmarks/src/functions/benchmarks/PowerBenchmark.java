@@ -0,0 +1,77 @@
+package functions.benchmarks;
+
+import functions.Constant;
+import functions.Function;
+import functions.MultiProduct;
+import functions.Power;
+import functions.Product;
+import functions.Sum;
+import functions.Variable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures integer powers evaluated by repeated squaring against Math.pow, and the derivative
+ * of a power, which evaluates its base once, against the product it expands to.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PowerBenchmark {
+    @Param({"2", "3", "7", "-3"})
+    public int exponent;
+
+    private Function power;
+    private Function compiled;
+    private Function derivative;
+    private Function expanded;
+    private double x = 1.2345;
+
+    @Setup
+    public void setUp(){
+        Function base = new Sum(new Product(new Variable(0), new Variable(0)), new Constant(1));
+        power = Power.of(base, exponent);
+        compiled = power.compile();
+        derivative = power.derivative();
+        expanded = new MultiProduct(new Constant(exponent), Power.of(base, exponent - 1), base.derivative());
+    }
+
+    @Benchmark
+    public double repeatedSquaring(){
+        return power.valueAt(x);
+    }
+
+    @Benchmark
+    public double mathPow(){
+        return Math.pow(x * x + 1, exponent);
+    }
+
+    @Benchmark
+    public double compiled(){
+        return compiled.valueAt(x);
+    }
+
+    @Benchmark
+    public double derivative(){
+        return derivative.valueAt(x);
+    }
+
+    @Benchmark
+    public double expandedDerivative(){
+        return expanded.valueAt(x);
+    }
+}
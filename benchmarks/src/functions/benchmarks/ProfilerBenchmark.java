@@ -0,0 +1,46 @@
+package functions.benchmarks;
+
+import functions.Function;
+import functions.Profiler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of profiling: valueAt of massiveFunc against valueAt of its instrumented copy.
+ * The original tree is unchanged by profiling, so the first benchmark is the cost when disabled.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ProfilerBenchmark {
+    private Function profiled;
+    private double x = 1.5;
+
+    @Setup
+    public void setUp(){
+        profiled = new Profiler(Trees.MASSIVE_FUNC).getFunction();
+    }
+
+    @Benchmark
+    public double plain(){
+        return Trees.MASSIVE_FUNC.valueAt(x);
+    }
+
+    @Benchmark
+    public double profiled(){
+        return profiled.valueAt(x);
+    }
+}
@@ -0,0 +1,46 @@
+package functions.benchmarks;
+
+import functions.FunctionRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures four threads looking up massiveFunc in one shared FunctionRegistry and evaluating it,
+ * against evaluating the tree itself, which shares nothing prepared.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class RegistryBenchmark {
+    private final FunctionRegistry registry = new FunctionRegistry();
+
+    @Setup
+    public void setUp(){
+        registry.register("massiveFunc", Trees.MASSIVE_FUNC);
+    }
+
+    @Benchmark
+    public double registered(){
+        return registry.get("massiveFunc").valueAt(1.5);
+    }
+
+    @Benchmark
+    public double tree(){
+        return Trees.MASSIVE_FUNC.valueAt(1.5);
+    }
+}
@@ -0,0 +1,73 @@
+package functions.benchmarks;
+
+import functions.Complex;
+import functions.Function;
+import functions.Polynomial;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures bisectionMethod and newtonRaphsonMethod on the root finding examples of Main,
+ * both with a root at 2 or -2, and Polynomial.roots, which finds both roots of poly3 at once,
+ * against bisectionMethod on a bracket around each of them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RootFindingBenchmark {
+    @Param({"1e-5", "1e-10"})
+    public double epsilon;
+
+    private Function poly3;
+    private Function quotient3;
+
+    @Setup
+    public void setUp(){
+        poly3 = Trees.POLY3;
+        quotient3 = Trees.QUOTIENT3;
+    }
+
+    @Benchmark
+    public double bisectionPolynomial(){
+        return poly3.bisectionMethod(0, 5, epsilon);
+    }
+
+    @Benchmark
+    public double bisectionQuotient(){
+        return quotient3.bisectionMethod(-3, -1, epsilon);
+    }
+
+    @Benchmark
+    public Complex[] allRootsPolynomial(){
+        return ((Polynomial) poly3).roots();
+    }
+
+    @Benchmark
+    public double bisectionBothRootsPolynomial(){
+        return poly3.bisectionMethod(-10, 0, epsilon) + poly3.bisectionMethod(0, 5, epsilon);
+    }
+
+    @Benchmark
+    public double newtonPolynomial(){
+        return poly3.newtonRaphsonMethod(5, epsilon);
+    }
+
+    @Benchmark
+    public double newtonQuotient(){
+        return quotient3.newtonRaphsonMethod(-3, epsilon);
+    }
+}
@@ -0,0 +1,56 @@
+package functions.benchmarks;
+
+import functions.Function;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures taylorPolynomial for increasing orders, around 0 and around 2,
+ * and taylorCoefficientsAt around 2, which skips building the polynomial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TaylorBenchmark {
+    @Param({"polynomial", "pow2", "massiveFunc"})
+    public String function;
+
+    @Param({"2", "5", "10", "20"})
+    public int n;
+
+    private Function tree;
+
+    @Setup
+    public void setUp(){
+        tree = Trees.named(function);
+    }
+
+    @Benchmark
+    public Function taylorPolynomial(){
+        return tree.taylorPolynomial(n);
+    }
+
+    @Benchmark
+    public Function taylorPolynomialAroundTwo(){
+        return tree.taylorPolynomial(n, 2);
+    }
+
+    @Benchmark
+    public double[] taylorCoefficientsAroundTwo(){
+        return tree.taylorCoefficientsAt(2, n);
+    }
+}
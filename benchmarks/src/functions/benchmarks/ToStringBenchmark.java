@@ -0,0 +1,62 @@
+package functions.benchmarks;
+
+import functions.Function;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures toString on trees of increasing depth and on the derivative of massiveFunc,
+ * in full and shortened to the length of a log line.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ToStringBenchmark {
+    private static final int LOG_LINE_LENGTH = 120;
+
+    @Param({"16", "256", "2048"})
+    public int depth;
+
+    private Function deep;
+    private Function massiveDerivative;
+
+    @Setup
+    public void setUp(){
+        deep = Trees.deep(depth);
+        massiveDerivative = Trees.MASSIVE_FUNC.derivative();
+    }
+
+    @Benchmark
+    public String deepTree(){
+        return deep.toString();
+    }
+
+    @Benchmark
+    public String deepTreeShortened(){
+        return deep.toString(LOG_LINE_LENGTH);
+    }
+
+    @Benchmark
+    public String massiveFuncDerivative(){
+        return massiveDerivative.toString();
+    }
+
+    @Benchmark
+    public String massiveFuncDerivativeShortened(){
+        return massiveDerivative.toString(LOG_LINE_LENGTH);
+    }
+}
@@ -0,0 +1,84 @@
+package functions.benchmarks;
+
+import functions.Constant;
+import functions.Difference;
+import functions.Function;
+import functions.MultiProduct;
+import functions.MultiSum;
+import functions.Negation;
+import functions.Polynomial;
+import functions.Power;
+import functions.Product;
+import functions.Quotient;
+import functions.Sum;
+
+/**
+ * The functions the benchmarks run on, built the same way as in Main.
+ */
+final class Trees {
+    static final Function CONST1 = new Constant(12345);
+    static final Function CONST2 = new Constant(12.391709);
+    static final Function CONST3 = new Constant(-1709);
+    static final Function POLY1 = new Polynomial(0, 0, 1, 1.5, 2, 3.1415);
+    static final Function POLY2 = new Polynomial(1, 0, 2, 1.5, 5, 2.17, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 3);
+    static final Function PROD1 = new Product(new Sum(CONST1, CONST2), CONST3);
+    static final Function QUOTIENT1 = new Quotient(
+            new Sum(new Difference(new Product(CONST1, CONST3), CONST2), new Polynomial(1, 0, 1)),
+            PROD1);
+    static final Function POW1 = Power.of(POLY1, 3);
+    static final Function POW2 = Power.of(POW1, 3);
+    static final Function MASSIVE_FUNC = new Sum(
+            new MultiSum(QUOTIENT1, POLY1, POLY2),
+            new Negation(
+                    new Sum(
+                            QUOTIENT1,
+                            new Quotient(
+                                    new Sum(new Difference(POW1, CONST3), CONST2),
+                                    new Negation(
+                                            new Quotient(
+                                                    new Constant(2.17),
+                                                    new Difference(QUOTIENT1, new Negation(POLY2))))))));
+    static final Function POLY3 = new Polynomial(-4, 0, 1);
+    static final Function QUOTIENT3 = new Quotient(POLY3, new Polynomial(0, 0, 1, 0, 1));
+
+    private Trees(){
+    }
+
+    /**
+     * Returns a function by the name it has in Main, or a single node of the named type.
+     * @param name the name of the function
+     * @return the function
+     */
+    static Function named(String name){
+        switch (name) {
+            case "constant": return CONST2;
+            case "polynomial": return POLY1;
+            case "sum": return new Sum(POLY1, CONST2);
+            case "difference": return new Difference(POLY1, CONST2);
+            case "product": return new Product(POLY1, CONST2);
+            case "quotient": return new Quotient(POLY1, CONST2);
+            case "negation": return new Negation(POLY1);
+            case "power": return Power.of(POLY1, 3);
+            case "multiSum": return new MultiSum(POLY1, CONST2, CONST3);
+            case "multiProduct": return new MultiProduct(POLY1, CONST2, CONST3);
+            case "pow2": return POW2;
+            case "quotient3": return QUOTIENT3;
+            case "massiveFunc": return MASSIVE_FUNC;
+            default: throw new IllegalArgumentException("unknown function " + name);
+        }
+    }
+
+    /**
+     * Builds a tree of the given depth by nesting sums and products of polynomials,
+     * so that every level adds one node on the path to the deepest leaf.
+     * @param depth the depth of the tree
+     * @return the tree
+     */
+    static Function deep(int depth){
+        Function function = POLY1;
+        for ( int i = 0 ; i < depth ; i++ ){
+            function = i % 2 == 0 ? new Sum(function, POLY2) : new Product(new Constant(i), function);
+        }
+        return function;
+    }
+}
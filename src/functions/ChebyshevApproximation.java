@@ -0,0 +1,348 @@
+package functions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * The ChebyshevApproximation class replaces a function on an interval [a, b] by a piecewise
+ * Chebyshev series, built by Function.approximate. Every piece is the interpolant of the function
+ * at Chebyshev points, so evaluating it costs a lookup of the piece and one multiply-add per
+ * coefficient with the Clenshaw recurrence, whatever the size of the approximated tree.
+ * A piece is fitted with 8, 16, 32 and then 64 points; if none of them is accurate enough the
+ * piece is halved and both halves are fitted again, up to 1024 pieces. The accuracy of a fit is checked against the
+ * function at points between the interpolation points, and trailing coefficients are dropped
+ * while the error stays within the tolerance. The error bound reported by getErrorBound is the
+ * largest error found at these check points, it is not a proof that the error is smaller elsewhere.
+ * Outside [a, b] the approximated function is evaluated instead.
+ * It extends the Function class.
+ */
+public final class ChebyshevApproximation extends Function {
+    private static final int MIN_POINTS = 8;
+    private static final int MAX_POINTS = 64;
+    /**
+     * The number of times a piece may be halved, and the number of pieces after which the
+     * remaining pieces are accepted with the error they have, so that a function that cannot
+     * be approximated to the tolerance, such as one with a pole, takes a bounded time to fit.
+     */
+    private static final int MAX_DEPTH = 32;
+    private static final int MAX_PIECES = 1024;
+    /**
+     * The cosines of pi * k * (j + 0.5) / n for k, j < n, row by row, for every number of points n.
+     */
+    private static final double[][] COSINES = new double[Integer.numberOfTrailingZeros(MAX_POINTS / MIN_POINTS) + 1][];
+
+    static {
+        for ( int i = 0 ; i < COSINES.length ; i++ ){
+            int n = MIN_POINTS << i;
+            COSINES[i] = new double[n * n];
+            for ( int k = 0 ; k < n ; k++ ){
+                for ( int j = 0 ; j < n ; j++ ){
+                    COSINES[i][k * n + j] = Math.cos(Math.PI * k * (j + 0.5) / n);
+                }
+            }
+        }
+    }
+
+    private final Function source;
+    private final double a;
+    private final double b;
+    private final double tolerance;
+    private final double[] breakpoints;
+    private final double[][] coefficients;
+    private final double errorBound;
+
+    /**
+     * Constructs the approximation of a function on an interval.
+     * @param source the function to approximate
+     * @param a the left end of the interval
+     * @param b the right end of the interval
+     * @param tolerance the largest error allowed, relative to the largest absolute value of the function
+     *                  on a piece, or absolute where that value is below 1
+     * @throws IllegalArgumentException if a and b are not finite with a < b, or the tolerance is not positive
+     */
+    ChebyshevApproximation(Function source, double a, double b, double tolerance){
+        if ( !(a < b) || Double.isInfinite(a) || Double.isInfinite(b) )
+            throw new IllegalArgumentException("not a finite interval: [" + a + ", " + b + "]");
+        if ( !(tolerance > 0) )
+            throw new IllegalArgumentException("the tolerance must be positive: " + tolerance);
+        this.source = source;
+        this.a = a;
+        this.b = b;
+        this.tolerance = tolerance;
+        List<Piece> pieces = fit();
+        this.coefficients = new double[pieces.size()][];
+        this.breakpoints = new double[pieces.size() + 1];
+        double error = 0;
+        for ( int i = 0 ; i < pieces.size() ; i++ ){
+            coefficients[i] = pieces.get(i).series;
+            breakpoints[i] = pieces.get(i).low;
+            error = Math.max(error, pieces.get(i).error);
+        }
+        breakpoints[pieces.size()] = b;
+        this.errorBound = error;
+    }
+
+    /**
+     * Fits the pieces of [a, b]. Pieces are fitted with more and more points until one is accurate
+     * enough, the remaining pieces are halved starting with the one whose error exceeds the tolerance
+     * the most, so that a piece whose error cannot be brought down, such as one at a pole
+     * or where the values of the function are dominated by rounding errors, takes at most
+     * its share of the pieces.
+     * @return the pieces in increasing order
+     */
+    private List<Piece> fit(){
+        List<Piece> accepted = new ArrayList<>();
+        PriorityQueue<Piece> pending = new PriorityQueue<>(Comparator.comparingDouble((Piece piece) -> piece.excess).reversed());
+        Piece whole = new Piece(a, b, 0);
+        (whole.excess <= 1 ? accepted : pending).add(whole);
+        while ( !pending.isEmpty() && accepted.size() + pending.size() < MAX_PIECES ){
+            Piece piece = pending.poll();
+            double mid = 0.5 * (piece.low + piece.high);
+            if ( piece.depth == MAX_DEPTH || mid <= piece.low || mid >= piece.high ){
+                accepted.add(piece);
+                continue;
+            }
+            for ( Piece half : new Piece[]{ new Piece(piece.low, mid, piece.depth + 1), new Piece(mid, piece.high, piece.depth + 1) } ){
+                (half.excess <= 1 ? accepted : pending).add(half);
+            }
+        }
+        accepted.addAll(pending);
+        accepted.sort(Comparator.comparingDouble((Piece piece) -> piece.low));
+        return accepted;
+    }
+    /**
+     * Interpolates the function at the n Chebyshev points of [low, high].
+     * @return the n coefficients of the Chebyshev series of the interpolant
+     */
+    private double[] interpolate(double low, double high, int n){
+        double[] cosines = COSINES[Integer.numberOfTrailingZeros(n / MIN_POINTS)];
+        double[] xs = new double[n];
+        double[] values = new double[n];
+        for ( int j = 0 ; j < n ; j++ ){
+            xs[j] = toX(cosines[n + j], low, high);
+        }
+        source.valueAt(xs, values);
+        double[] series = new double[n];
+        for ( int k = 0 ; k < n ; k++ ){
+            double sum = 0;
+            for ( int j = 0 ; j < n ; j++ ){
+                sum += values[j] * cosines[k * n + j];
+            }
+            series[k] = (k == 0 ? 1.0 : 2.0) * sum / n;
+        }
+        return series;
+    }
+    /**
+     * Compares the series with the function at 2n + 1 evenly spaced points of [low, high],
+     * which include the ends and fall between the interpolation points.
+     * @return the largest absolute error and the largest absolute value of the function,
+     *         the error is infinite if the function is not finite at a point
+     */
+    private double[] check(double[] series, double low, double high, int n){
+        int m = 2 * n + 1;
+        double[] xs = new double[m];
+        double[] values = new double[m];
+        for ( int i = 0 ; i < m ; i++ ){
+            xs[i] = i == m - 1 ? high : low + (high - low) * i / (m - 1);
+        }
+        source.valueAt(xs, values);
+        double error = 0;
+        double scale = 0;
+        for ( int i = 0 ; i < m ; i++ ){
+            if ( !Double.isFinite(values[i]) )
+                return new double[]{ Double.POSITIVE_INFINITY, scale };
+            error = Math.max(error, Math.abs(clenshaw(series, toT(xs[i], low, high)) - values[i]));
+            scale = Math.max(scale, Math.abs(values[i]));
+        }
+        return new double[]{ error, scale };
+    }
+    private static double toX(double t, double low, double high){
+        return 0.5 * (low + high) + 0.5 * (high - low) * t;
+    }
+    private static double toT(double x, double low, double high){
+        return (2 * x - low - high) / (high - low);
+    }
+    /**
+     * Sums a Chebyshev series with the Clenshaw recurrence.
+     * @param series the coefficients of T_0, T_1, ...
+     * @param t the point in [-1, 1]
+     * @return the value of the series at t
+     */
+    private static double clenshaw(double[] series, double t){
+        double b1 = 0;
+        double b2 = 0;
+        for ( int k = series.length - 1 ; k >= 1 ; k-- ){
+            double b0 = 2 * t * b1 - b2 + series[k];
+            b2 = b1;
+            b1 = b0;
+        }
+        return t * b1 - b2 + series[0];
+    }
+    /**
+     * Sums a Chebyshev series over an interval of points with the Clenshaw recurrence in interval arithmetic,
+     * which is tighter than the bound by the coefficients when the interval is narrow.
+     */
+    private static Interval clenshaw(double[] series, Interval t){
+        Interval twoT = t.add(t);
+        Interval b1 = Interval.point(0);
+        Interval b2 = Interval.point(0);
+        for ( int k = series.length - 1 ; k >= 1 ; k-- ){
+            Interval b0 = twoT.multiply(b1).subtract(b2).add(Interval.point(series[k]));
+            b2 = b1;
+            b1 = b0;
+        }
+        return t.multiply(b1).subtract(b2).add(Interval.point(series[0]));
+    }
+    /**
+     * Returns the index of the piece containing a point of [a, b].
+     */
+    private int piece(double x){
+        if ( coefficients.length == 1 )
+            return 0;
+        int index = Arrays.binarySearch(breakpoints, x);
+        if ( index < 0 )
+            index = -index - 2;
+        return Math.min(index, coefficients.length - 1);
+    }
+
+    /**
+     * Returns the value of the approximation at a given input.
+     * @param x the input value
+     * @return the value of the Chebyshev series of the piece containing x,
+     *         or the value of the approximated function if x is outside [a, b]
+     */
+    @Override
+    public double valueAt(double x){
+        if ( !(x >= a && x <= b) )
+            return source.valueAt(x);
+        int i = piece(x);
+        return clenshaw(coefficients[i], toT(x, breakpoints[i], breakpoints[i + 1]));
+    }
+    /**
+     * Returns an interval containing every value of the approximation for x in the given interval.
+     * On a piece, a Chebyshev series lies within the sum of the absolute values of its
+     * coefficients around its constant term, which is intersected with the series summed in
+     * interval arithmetic over the part of the piece in the interval. Where the interval extends outside [a, b]
+     * the range of the approximated function is included.
+     * @param x the interval of inputs
+     * @return an enclosure of the range of the approximation
+     */
+    @Override
+    public Interval rangeOver(Interval x){
+        Interval range = null;
+        if ( x.getLower() < a || x.getUpper() > b )
+            range = source.rangeOver(x);
+        if ( x.getUpper() < a || x.getLower() > b )
+            return range;
+        int last = piece(Math.min(x.getUpper(), b));
+        for ( int i = piece(Math.max(x.getLower(), a)) ; i <= last ; i++ ){
+            double[] series = coefficients[i];
+            double radius = 0;
+            for ( int k = 1 ; k < series.length ; k++ ){
+                radius += Math.abs(series[k]);
+            }
+            radius += 2 * series.length * Math.ulp(Math.abs(series[0]) + radius);
+            if ( !Double.isFinite(series[0] - radius) || !Double.isFinite(series[0] + radius) )
+                return Interval.ENTIRE;
+            Interval bounds = new Interval(Math.nextDown(series[0] - radius), Math.nextUp(series[0] + radius));
+            double low = breakpoints[i];
+            double high = breakpoints[i + 1];
+            Interval t = new Interval(
+                    Math.max(-1, Math.nextDown(toT(Math.max(x.getLower(), low), low, high))),
+                    Math.min(1, Math.nextUp(toT(Math.min(x.getUpper(), high), low, high))));
+            bounds = bounds.intersect(clenshaw(series, t));
+            range = range == null ? bounds : range.hull(bounds);
+        }
+        return range;
+    }
+    /**
+     * Returns the approximation of the derivative of the approximated function on the same interval
+     * and with the same tolerance. Approximating the derivative again is more accurate than
+     * differentiating the series, whose error grows with the square of its degree.
+     * @return the derivative as a new ChebyshevApproximation
+     */
+    @Override
+    public Function derivative(){
+        return new ChebyshevApproximation(source.derivative(), a, b, tolerance);
+    }
+    /**
+     * Appends the string representation of the approximated function.
+     * @param builder the StringBuilder to append to
+     * @param limit the length of the builder after which children are elided
+     */
+    @Override
+    void appendTo(StringBuilder builder, int limit){
+        source.appendTo(builder, limit);
+    }
+
+    /**
+     * Returns the largest error of the approximation found when it was checked against the function.
+     * @return the largest absolute error at the check points, infinite if the function was not finite
+     *         at one of them
+     */
+    public double getErrorBound(){
+        return errorBound;
+    }
+    /**
+     * Returns the number of pieces [a, b] was split into.
+     * @return the number of pieces
+     */
+    public int numberOfPieces(){
+        return coefficients.length;
+    }
+    /**
+     * Returns the number of Chebyshev coefficients of all pieces together,
+     * the cost of evaluating every piece once.
+     * @return the number of coefficients
+     */
+    public int numberOfCoefficients(){
+        int count = 0;
+        for ( double[] series : coefficients ){
+            count += series.length;
+        }
+        return count;
+    }
+
+    /**
+     * A piece of [a, b] with the best fit found for it.
+     */
+    private final class Piece {
+        final double low;
+        final double high;
+        final int depth;
+        double[] series;
+        double error = Double.POSITIVE_INFINITY;
+        /**
+         * The error divided by the error allowed, at most 1 if the fit is accurate enough.
+         */
+        double excess = Double.POSITIVE_INFINITY;
+
+        /**
+         * Fits the piece with 8, 16, 32 and then 64 points, stopping at the first fit that is accurate enough.
+         * Trailing coefficients of that fit are dropped while the error stays within the tolerance,
+         * a dropped coefficient changing a value by at most its absolute value.
+         */
+        Piece(double low, double high, int depth){
+            this.low = low;
+            this.high = high;
+            this.depth = depth;
+            for ( int n = MIN_POINTS ; n <= MAX_POINTS && excess > 1 ; n *= 2 ){
+                series = interpolate(low, high, n);
+                double[] check = check(series, low, high, n);
+                double allowed = tolerance * Math.max(1, check[1]);
+                error = check[0];
+                excess = error / allowed;
+                if ( excess <= 1 ){
+                    int length = series.length;
+                    while ( length > 1 && error + Math.abs(series[length - 1]) <= allowed ){
+                        error += Math.abs(series[--length]);
+                    }
+                    series = Arrays.copyOf(series, length);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package functions;
+
+/**
+ * The CompiledFunction class is the base class of the classes generated by FunctionCompiler.
+ * The generated subclass implements valueAt as straight-line arithmetic,
+ * everything else is answered by the function it was compiled from.
+ * It extends the Function class.
+ */
+abstract class CompiledFunction extends Function {
+    final Function source;
+    final Function[] fallbacks;
+
+    /**
+     * Constructs a CompiledFunction object for the specified source function.
+     * @param source the function that was compiled
+     * @param fallbacks the nodes the compiler did not understand, evaluated through their own valueAt
+     */
+    CompiledFunction(Function source, Function[] fallbacks){
+        this.source = source;
+        this.fallbacks = fallbacks;
+    }
+    /**
+     * Appends the string representation of the source function.
+     * @param builder the StringBuilder to append to
+     * @param limit the length of the builder after which children are elided
+     */
+    @Override
+    void appendTo(StringBuilder builder, int limit){
+        source.appendTo(builder, limit);
+    }
+    /**
+     * Returns the value of the source function at a point of several variables.
+     * @param point the values of the variables
+     * @return the value of the function at the point
+     */
+    @Override
+    public double valueAtPoint(double[] point){
+        return source.valueAtPoint(point);
+    }
+    /**
+     * Returns the value and the derivative of the source function.
+     * @param x the input value
+     * @return a new array holding the value and the derivative at x
+     */
+    @Override
+    public double[] valueAndDerivativeAt(double x){
+        return source.valueAndDerivativeAt(x);
+    }
+    /**
+     * Returns the range of the source function over an interval.
+     * @param x the interval of inputs
+     * @return an enclosure of the range of the function
+     */
+    @Override
+    public Interval rangeOver(Interval x){
+        return source.rangeOver(x);
+    }
+    /**
+     * Returns the derivative of the source function.
+     * @return the derivative of the function as a new Function object
+     */
+    @Override
+    public Function derivative(){
+        return source.derivative();
+    }
+    /**
+     * Returns the antiderivative of the source function, if it has one in closed form.
+     * @return an antiderivative, or null if none is known
+     */
+    @Override
+    Function antiderivative(){
+        return source.antiderivative();
+    }
+    /**
+     * Returns this function, which is already compiled.
+     * @return this function
+     */
+    @Override
+    public Function compile(){
+        return this;
+    }
+    /**
+     * Inlines the source function when a compiled function is part of a larger tree being compiled.
+     * @param emitter the emitter to emit the code to
+     */
+    @Override
+    void compileTo(Emitter emitter){
+        emitter.emit(source);
+    }
+}
@@ -0,0 +1,50 @@
+package functions;
+
+/**
+ * The Complex class represents a complex number, as returned by Polynomial.roots.
+ */
+public final class Complex {
+    private final double real;
+    private final double imaginary;
+
+    /**
+     * Constructs a Complex object with the specified real and imaginary parts.
+     * @param real the real part
+     * @param imaginary the imaginary part
+     */
+    public Complex(double real, double imaginary){
+        this.real = real;
+        this.imaginary = imaginary;
+    }
+    /**
+     * Returns the real part.
+     * @return the real part
+     */
+    public double getReal(){
+        return real;
+    }
+    /**
+     * Returns the imaginary part.
+     * @return the imaginary part
+     */
+    public double getImaginary(){
+        return imaginary;
+    }
+    /**
+     * Tells whether the imaginary part is 0.
+     * @return true if the number is real
+     */
+    public boolean isReal(){
+        return imaginary == 0;
+    }
+    /**
+     * Returns a string representation of the complex number in the format "a", "a + bi" or "a - bi".
+     * @return a string representation of the complex number
+     */
+    @Override
+    public String toString(){
+        if ( imaginary == 0 )
+            return String.valueOf(real);
+        return real + (imaginary > 0 ? " + " : " - ") + Math.abs(imaginary) + "i";
+    }
+}
@@ -0,0 +1,126 @@
+package functions;
+
+import java.util.Arrays;
+
+/**
+ * The Constant class represents a constant function that always returns the same value.
+ * It extends the Function class.
+ */
+public class Constant extends Function {
+    final double y;
+
+    /**
+     * Constructs a Constant object with the specified constant value
+     * @param constant the constant value of the function
+     */
+    public Constant(double constant) {
+        this.y = constant;
+    }
+    /**
+     * Returns the value of the constant function at a given input
+     * @param x the input value
+     * @return the constant value
+     */
+    @Override
+    public double valueAt(double x) {
+        return this.y;
+    }
+    /**
+     * Returns the value of the constant function at a point of several variables
+     * @param point the values of the variables
+     * @return the constant value
+     */
+    @Override
+    public double valueAtPoint(double[] point) {
+        return this.y;
+    }
+    /**
+     * Returns the value of the constant and its derivative, 0.
+     * @param x the input value
+     * @return a new array holding the constant and 0
+     */
+    @Override
+    public double[] valueAndDerivativeAt(double x) {
+        return new double[]{ this.y, 0 };
+    }
+    /**
+     * Fills the output with the constant value for every input in the block
+     * @param xs the input values
+     * @param out the array the values are written to
+     */
+    @Override
+    public void valueAt(double[] xs, double[] out) {
+        Arrays.fill(out, 0, xs.length, this.y);
+    }
+    /**
+     * Returns the interval holding only the constant value, or the whole real line if it is NaN.
+     * @param x the interval of inputs
+     * @return the range of the constant function
+     */
+    @Override
+    public Interval rangeOver(Interval x) {
+        return Interval.point(y);
+    }
+    /**
+     * Emits the code that pushes the constant value.
+     * @param emitter the emitter to emit the code to
+     */
+    @Override
+    void compileTo(Emitter emitter) {
+        emitter.constant(this.y);
+    }
+    /**
+     * Compares the values of two constants, telling 0.0 and -0.0 apart.
+     * @param other another Constant
+     * @return true if the values are equal
+     */
+    @Override
+    boolean sameData(Function other) {
+        return Double.doubleToLongBits(y) == Double.doubleToLongBits(((Constant) other).y);
+    }
+    @Override
+    int dataHash() {
+        return Double.hashCode(y);
+    }
+    /**
+     * Tells whether a function is a constant with the given value.
+     * @param function the function to check
+     * @param value the value to compare with
+     * @return true if the function is a Constant equal to value
+     */
+    static boolean is(Function function, double value) {
+        return function instanceof Constant && ((Constant) function).y == value;
+    }
+    /**
+     * Appends a string representation of the constant function.
+     * If the constant value is an integer, it is enclosed in parentheses.
+     * Otherwise, the value is represented as is, enclosed in parentheses
+     * @param builder the StringBuilder to append to
+     * @param limit the length of the builder after which children are elided
+     */
+    @Override
+    void appendTo(StringBuilder builder, int limit) {
+        builder.append('(');
+        if ( y - (int)y == 0.0)
+            builder.append((int)y);
+        else
+            builder.append(y);
+        builder.append(')');
+    }
+    /**
+     * Returns the derivative of the constant function, which is always 0
+     * @return the derivative of the constant function
+     */
+    @Override
+    public Function derivative() {
+        return new Constant(0.0);
+    }
+    /**
+     * Returns the antiderivative of the constant function that is 0 at x = 0, the line y * x
+     * @return the antiderivative of the constant function
+     */
+    @Override
+    public Polynomial antiderivative() {
+        return new Polynomial(0, y);
+    }
+}
@@ -0,0 +1,63 @@
+package functions;
+
+/**
+ * Represents the cube of a function, a Power with exponent 3 evaluated as two multiplications
+ * in the order of repeated squaring, b * (b * b).
+ * It extends the Power class.
+ */
+public final class Cube extends Power {
+    /**
+     * Constructs the cube of a function.
+     * @param base the base function
+     */
+    public Cube(Function base){
+        super(base, 3);
+    }
+    /**
+     * Computes the cube of the base at the given input.
+     * @param x the input value
+     * @return the cube of the base function at x
+     */
+    @Override
+    public double valueAt(double x){
+        double b = base.valueAt(x);
+        return b * (b * b);
+    }
+    /**
+     * Returns the cube of the base function at a point of several variables.
+     * @param point the values of the variables
+     * @return the cube of the base function at the point
+     */
+    @Override
+    public double valueAtPoint(double[] point){
+        double b = base.valueAtPoint(point);
+        return b * (b * b);
+    }
+    /**
+     * Computes the cubes of the base at a block of inputs.
+     * @param xs the input values
+     * @param out the array the results are written to
+     */
+    @Override
+    public void valueAt(double[] xs, double[] out){
+        base.valueAt(xs, out);
+        for ( int i = 0 ; i < xs.length ; i++ ){
+            double b = out[i];
+            out[i] = b * (b * b);
+        }
+    }
+    /**
+     * Calculates the value and the derivative of the cube, evaluating the base once.
+     * @param x the input value
+     * @return a new array holding the value and the derivative at x
+     */
+    @Override
+    public double[] valueAndDerivativeAt(double x){
+        double[] result = base.valueAndDerivativeAt(x);
+        double b = result[0];
+        double square = b * b;
+        result[0] = b * square;
+        result[1] = 3 * square * result[1];
+        return result;
+    }
+}
@@ -0,0 +1,156 @@
+package functions;
+
+/**
+ * The Difference class represents the difference of two functions.
+ * It extends the Function class.
+ */
+public class Difference extends Function{
+    private final Function f;
+    private final Function g;
+
+    /**
+     * Constructs a Difference object with the specified functions.
+     * @param f the first function
+     * @param g the second function
+     */
+    public Difference(Function f, Function g){
+        this.f = f;
+        this.g = g;
+    }
+    /**
+     * Returns the difference of the two functions at a given input.
+     * @param x the input value
+     * @return the difference of the two functions
+     */
+    @Override
+    public double valueAt(double x){
+        return f.valueAt(x) - g.valueAt(x);
+    }
+    /**
+     * Returns the difference of the two functions at a point of several variables.
+     * @param point the values of the variables
+     * @return the difference of the two functions at the point
+     */
+    @Override
+    public double valueAtPoint(double[] point){
+        return f.valueAtPoint(point) - g.valueAtPoint(point);
+    }
+    /**
+     * Calculates the value and the derivative of the difference in one pass over the tree,
+     * with the dual-number rules of JetEvaluator.
+     * @param x the input value
+     * @return a new array holding the value and the derivative at x
+     */
+    @Override
+    public double[] valueAndDerivativeAt(double x){
+        double[] a = f.valueAndDerivativeAt(x);
+        double[] b = g.valueAndDerivativeAt(x);
+        a[0] = a[0] - b[0];
+        a[1] = a[1] - b[1];
+        return a;
+    }
+    /**
+     * Returns the differences of the two functions at a block of inputs.
+     * @param xs the input values
+     * @param out the array the differences are written to
+     */
+    @Override
+    public void valueAt(double[] xs, double[] out){
+        double[] gValues = new double[xs.length];
+        f.valueAt(xs, out);
+        g.valueAt(xs, gValues);
+        for ( int i = 0 ; i < xs.length ; i++ ){
+            out[i] -= gValues[i];
+        }
+    }
+    /**
+     * Returns an interval containing every value of the difference of the two functions for x in the given interval.
+     * @param x the interval of inputs
+     * @return an enclosure of the range of the difference of the two functions
+     */
+    @Override
+    public Interval rangeOver(Interval x){
+        return f.rangeOver(x).subtract(g.rangeOver(x));
+    }
+    /**
+     * Emits the code that computes this node.
+     * @param emitter the emitter to emit the code to
+     */
+    @Override
+    void compileTo(Emitter emitter){
+        emitter.emit(f);
+        emitter.emit(g);
+        emitter.subtract();
+    }
+    /**
+     * Returns the two functions of this node.
+     * @return the functions f and g
+     */
+    @Override
+    Function[] children(){
+        return new Function[]{ f, g };
+    }
+    /**
+     * Returns a new Difference of the given functions.
+     * @param children the functions f and g
+     * @return the new Difference
+     */
+    @Override
+    Function withChildren(Function[] children){
+        return new Difference(children[0], children[1]);
+    }
+    /**
+     * A Difference holds no data besides its functions.
+     * @param other another Difference
+     * @return true
+     */
+    @Override
+    boolean sameData(Function other){
+        return true;
+    }
+    @Override
+    int dataHash(){
+        return 0;
+    }
+    /**
+     * Simplifies both functions, subtracting constants and polynomials and removing subtractions of 0.
+     * @return the simplified difference
+     */
+    @Override
+    public Function simplify(){
+        Function a = simplifiedOf(f);
+        Function b = simplifiedOf(g);
+        Polynomial p = Polynomial.of(a);
+        Polynomial q = Polynomial.of(b);
+        if ( p != null && q != null )
+            return p.add(q.negate()).simplify();
+        if ( Constant.is(b, 0) )
+            return a;
+        if ( Constant.is(a, 0) )
+            return new Negation(b).simplify();
+        return a == f && b == g ? this : new Difference(a, b);
+    }
+    /**
+     * Appends a string representation of the difference of the two functions.
+     * The functions are enclosed in parentheses and separated by a subtraction sign.
+     * @param builder the StringBuilder to append to
+     * @param limit the length of the builder after which children are elided
+     */
+    @Override
+    void appendTo(StringBuilder builder, int limit) {
+        builder.append('(');
+        append(builder, f, limit);
+        builder.append(" - ");
+        append(builder, g, limit);
+        builder.append(')');
+    }
+    /**
+     * Returns the derivative of the difference of the two functions.
+     * The derivative is computed by taking the derivative of each function separately.
+     * @return the derivative of the difference of the two functions
+     */
+    @Override
+    public Function derivative() {
+        return new Difference( derivativeOf(f), derivativeOf(g) );
+    }
+}
\ No newline at end of file
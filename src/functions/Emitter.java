@@ -0,0 +1,82 @@
+package functions;
+
+/**
+ * The Emitter class is the target of Function.compileTo.
+ * Every node describes how its value is computed as a postfix sequence of operations
+ * on a stack of doubles: it emits its children, then the operations that combine them.
+ * Subclasses decide what to do with the sequence: FunctionCompiler turns it into bytecode,
+ * Tape records it into a buffer, SlotProgram into operations on slots, JetEvaluator executes it
+ * on truncated Taylor series and GradientEvaluator records it for reverse-mode differentiation.
+ */
+abstract class Emitter {
+    /**
+     * Emits a node, which leaves its value on top of the stack.
+     * @param function the node to emit
+     */
+    abstract void emit(Function function);
+    /**
+     * Emits a node that is evaluated through its own valueAt.
+     * @param function the node to evaluate
+     */
+    abstract void fallback(Function function);
+    /**
+     * Pushes a constant.
+     * @param value the constant
+     */
+    abstract void constant(double value);
+    /**
+     * Pushes the input value x.
+     */
+    abstract void variable();
+    /**
+     * Pushes a variable of a function of several variables. Emitters of functions of x alone
+     * keep this implementation, which pushes x for x_0 and evaluates the other variables
+     * through fallback, where they have no value.
+     * @param variable the variable
+     */
+    void variable(Variable variable){
+        if ( variable.getIndex() == 0 )
+            variable();
+        else
+            fallback(variable);
+    }
+    /**
+     * Replaces the two values on top of the stack with their sum.
+     */
+    abstract void add();
+    /**
+     * Replaces the two values on top of the stack with their difference.
+     */
+    abstract void subtract();
+    /**
+     * Replaces the two values on top of the stack with their product.
+     */
+    abstract void multiply();
+    /**
+     * Replaces the two values on top of the stack with their quotient.
+     */
+    abstract void divide();
+    /**
+     * Negates the value on top of the stack.
+     */
+    abstract void negate();
+    /**
+     * Replaces the two values on top of the stack with Math.pow of them.
+     */
+    abstract void pow();
+    /**
+     * Replaces the two values on top of the stack with the real root of the first value
+     * whose order is the second value, an integer constant greater than 1, see RationalPower.root.
+     */
+    abstract void root();
+    /**
+     * Pops the value on top of the stack into a new local variable.
+     * @return the index of the local variable
+     */
+    abstract int store();
+    /**
+     * Pushes a local variable created by store.
+     * @param local the index of the local variable
+     */
+    abstract void load(int local);
+}
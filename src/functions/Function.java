@@ -0,0 +1,497 @@
+package functions;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * The abstract base class for mathematical functions.
+ * Subclasses of Function must implement the abstract methods to provide specific function behavior.
+ * The node classes of this package are immutable: their fields are final and their arrays are copied
+ * on the way in and out, so a function can be shared between threads without copying or locking.
+ * FunctionRegistry shares prepared functions by name.
+ */
+public abstract class Function {
+    /**
+     * The number of steps after which the Newton Raphson method gives up when no limit is given.
+     */
+    public static final int DEFAULT_MAX_ITERATIONS = 1000;
+    /**
+     * The number of points evaluateAll hands to one task, small enough for the block to stay in cache.
+     */
+    private static final int EVALUATION_CHUNK_SIZE = 4096;
+    /**
+     * The text that replaces the cut off part of a shortened string representation.
+     */
+    private static final String ELLIPSIS = "...";
+
+    /**
+     * Calculates the value of the function at a given point.
+     * @param x the input value
+     * @return the calculated value of the function
+     */
+    public abstract double valueAt(double x);
+    /**
+     * Calculates the values of the function at a block of points.
+     * Subclasses override this to process the whole block in a single loop per node,
+     * so the cost of walking the tree is paid once per block instead of once per point.
+     * @param xs the input values
+     * @param out the array the values are written to, at least as long as xs and not xs itself
+     */
+    public void valueAt(double[] xs, double[] out){
+        for ( int i = 0 ; i < xs.length ; i++ ){
+            out[i] = valueAt(xs[i]);
+        }
+    }
+    /**
+     * Calculates the value of a function of several variables, built with Variable nodes, at a point.
+     * Node types without their own implementation are functions of x = x_0 alone,
+     * evaluated through valueAt at the first coordinate of the point.
+     * @param point the values of the variables x_0, x_1, ...
+     * @return the value of the function at the point
+     */
+    public double valueAtPoint(double[] point){
+        return valueAt(point[0]);
+    }
+    /**
+     * Calculates the gradient of a function of several variables at a point by reverse-mode
+     * automatic differentiation: one forward sweep over the distinct nodes records the operations
+     * and their values, and one backward sweep propagates the derivative of the result to every
+     * operation and variable. The cost is a small multiple of one evaluation, whatever the
+     * number of variables. Node types the sweep has no rules for are differentiated in x_0
+     * with valueAndDerivativeAt.
+     * @param point the values of the variables x_0, x_1, ...
+     * @return a new array holding the partial derivative by every variable of the point
+     */
+    public double[] gradientAt(double[] point){
+        return new GradientEvaluator(point).gradientOf(this);
+    }
+    /**
+     * Calculates the Jacobian matrix of several functions of several variables at a point.
+     * The forward sweep is shared, so a node that appears in several functions is evaluated once,
+     * and every function takes one backward sweep.
+     * @param functions the functions, one per row of the matrix
+     * @param point the values of the variables x_0, x_1, ...
+     * @return a new matrix whose row i is the gradient of function i
+     */
+    public static double[][] jacobianAt(List<? extends Function> functions, double[] point){
+        GradientEvaluator evaluator = new GradientEvaluator(point);
+        double[][] jacobian = new double[functions.size()][];
+        for ( int i = 0 ; i < jacobian.length ; i++ ){
+            jacobian[i] = evaluator.gradientOf(functions.get(i));
+        }
+        return jacobian;
+    }
+    /**
+     * Returns a string representation of the functions
+     * @return a string representation of the function
+     */
+    @Override
+    public String toString(){
+        StringBuilder builder = new StringBuilder();
+        appendTo(builder, Integer.MAX_VALUE);
+        return builder.toString();
+    }
+    /**
+     * Returns a string representation of the function of at most maxLength characters.
+     * Rendering stops once the limit is reached, so only the beginning of a huge tree is visited,
+     * and the cut off part is replaced by "...".
+     * @param maxLength the largest length of the result, at least 3
+     * @return the string representation of the function, shortened to maxLength characters if it is longer
+     */
+    public String toString(int maxLength){
+        if ( maxLength < ELLIPSIS.length() )
+            throw new IllegalArgumentException("maxLength must be at least " + ELLIPSIS.length());
+        StringBuilder builder = new StringBuilder();
+        appendTo(builder, maxLength);
+        if ( builder.length() > maxLength ){
+            builder.setLength(maxLength - ELLIPSIS.length());
+            builder.append(ELLIPSIS);
+        }
+        return builder.toString();
+    }
+    /**
+     * Appends the string representation of the function to a StringBuilder.
+     * The whole tree is rendered into the one buffer, in time linear in the length of the result.
+     * @param builder the StringBuilder to append to
+     */
+    public void appendTo(StringBuilder builder){
+        appendTo(builder, Integer.MAX_VALUE);
+    }
+    /**
+     * Appends the string representation of the function to an Appendable, such as a Writer.
+     * The function is rendered into a StringBuilder first and appended in one call.
+     * @param out the Appendable to append to
+     * @throws IOException if the Appendable throws it
+     */
+    public void appendTo(Appendable out) throws IOException {
+        if ( out instanceof StringBuilder ){
+            appendTo((StringBuilder) out);
+            return;
+        }
+        StringBuilder builder = new StringBuilder();
+        appendTo(builder, Integer.MAX_VALUE);
+        out.append(builder);
+    }
+    /**
+     * Appends the string representation of the function to a StringBuilder,
+     * rendering children through append so that rendering stops once the builder reaches the limit.
+     * A node always appends its own text around the children, so the builder may end up
+     * somewhat longer than the limit.
+     * @param builder the StringBuilder to append to
+     * @param limit the length of the builder after which no more children are rendered
+     */
+    abstract void appendTo(StringBuilder builder, int limit);
+    /**
+     * Appends the string representation of a child node, unless the builder already reached the limit.
+     * @param builder the StringBuilder to append to
+     * @param function the child node
+     * @param limit the length of the builder after which no more children are rendered
+     */
+    static void append(StringBuilder builder, Function function, int limit){
+        if ( builder.length() < limit )
+            function.appendTo(builder, limit);
+    }
+    /**
+     * Returns the derivative of the function.
+     * @return the derivative of the function as a new Function object
+     */
+    public abstract Function derivative();
+    /**
+     * Returns the derivative of the function, simplified if asked to.
+     * Without simplification the derivative keeps the shape of the differentiation rules.
+     * @param simplify true to return the simplified derivative
+     * @return the derivative of the function as a new Function object
+     */
+    public Function derivative(boolean simplify){
+        Function derivative = derivative();
+        return simplify ? simplifiedOf(derivative) : derivative;
+    }
+    /**
+     * Returns an interval containing every value of the function for x in [lower, upper].
+     * See rangeOver(Interval).
+     * @param lower the lower end of the inputs
+     * @param upper the upper end of the inputs
+     * @return an enclosure of the range of the function
+     * @throws IllegalArgumentException if lower is larger than upper or one of them is NaN
+     */
+    public Interval rangeOver(double lower, double upper){
+        return rangeOver(new Interval(lower, upper));
+    }
+    /**
+     * Returns an interval containing every value of the function for x in the given interval,
+     * computed by interval arithmetic on the nodes. Rounding errors are accounted for,
+     * so the result is guaranteed to enclose the range, though it may be wider than the range:
+     * a subtree that appears twice is bounded as if the two appearances were independent.
+     * Values that are NaN are not enclosed.
+     * Node types without their own implementation return the whole real line.
+     * @param x the interval of inputs
+     * @return an enclosure of the range of the function
+     */
+    public Interval rangeOver(Interval x){
+        return Interval.ENTIRE;
+    }
+    /**
+     * Returns an algebraically simplified version of the function.
+     * Constant subtrees are folded, additions of 0 and multiplications by 1 are removed,
+     * multiplications by 0 become 0, double negations cancel, and Constant and Polynomial
+     * operands of the same sum, difference or product are merged into one Polynomial,
+     * as are positive integer powers of a Polynomial.
+     * The simplified function may differ from the original in the last bits of its values,
+     * and where the original gives NaN for an infinite or undefined operand that was multiplied by 0.
+     * A quotient 0 / g is only folded when g is a nonzero constant, so it stays NaN where g is 0.
+     * Node types without their own implementation are returned as they are.
+     * @return the simplified function, or this function if nothing could be simplified
+     */
+    public Function simplify(){
+        return this;
+    }
+    /**
+     * Calculates the values of the function at many points in parallel.
+     * The points are split into chunks of a fixed size that are evaluated with the block valueAt
+     * on the common ForkJoinPool. Every value is computed the same way whatever the number of threads,
+     * so the result does not depend on it.
+     * @param xs the input values
+     * @return a new array holding the values of the function
+     */
+    public double[] evaluateAll(double[] xs){
+        double[] out = new double[xs.length];
+        if ( xs.length <= EVALUATION_CHUNK_SIZE ){
+            valueAt(xs, out);
+            return out;
+        }
+        int chunks = (xs.length + EVALUATION_CHUNK_SIZE - 1) / EVALUATION_CHUNK_SIZE;
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            int from = chunk * EVALUATION_CHUNK_SIZE;
+            int to = Math.min(from + EVALUATION_CHUNK_SIZE, xs.length);
+            double[] values = new double[to - from];
+            valueAt(Arrays.copyOfRange(xs, from, to), values);
+            System.arraycopy(values, 0, out, from, values.length);
+        });
+        return out;
+    }
+    /**
+     * Calculates the values of the function at n evenly spaced points from one value to another,
+     * the i-th point being from + (to - from) * i / (n - 1). The points are evaluated as in evaluateAll.
+     * @param from the first point
+     * @param to the last point
+     * @param n the number of points
+     * @return a new array holding the values of the function
+     */
+    public double[] sample(double from, double to, int n){
+        double[] xs = new double[n];
+        for ( int i = 0 ; i < n ; i++ ){
+            xs[i] = n == 1 ? from : from + (to - from) * i / (n - 1);
+        }
+        return evaluateAll(xs);
+    }
+    /**
+     * Calculates the value and the first derivative of the function at a given point
+     * with dual numbers, in one pass over the tree and without building the derivative tree.
+     * Nodes without compiled code are differentiated through their derivative tree, see JetEvaluator.
+     * @param x the input value
+     * @return a new array holding the value and the derivative at x
+     */
+    public double[] valueAndDerivativeAt(double x){
+        return new JetEvaluator(x, 1).coefficientsAt(this);
+    }
+    /**
+     * Calculates the Taylor coefficients of the function around a given point by forward-mode
+     * automatic differentiation, in one pass over the tree and without building derivative trees.
+     * Nodes without compiled code are expanded through their derivative trees, see JetEvaluator.
+     * @param x the point to expand around
+     * @param n the highest derivative order
+     * @return a new array holding the k-th derivative at x divided by k! for k = 0..n
+     */
+    public double[] taylorCoefficientsAt(double x, int n){
+        return new JetEvaluator(x, n).coefficientsAt(this);
+    }
+    /**
+     * Calculates the definite integral of the function from a to b with an Integrator
+     * of precision 10^-10, see Integrator.
+     * @param a the lower limit of integration
+     * @param b the upper limit of integration
+     * @return the integral, NaN if the function is not finite somewhere in [a, b]
+     * @throws IllegalArgumentException if a limit is infinite or NaN
+     */
+    public double integrate(double a, double b){
+        return new Integrator(this).integrate(a, b).getValue();
+    }
+    /**
+     * Returns an antiderivative of the function in closed form, which Integrator uses to integrate exactly.
+     * Node types without their own implementation return null.
+     * @return an antiderivative, or null if none is known
+     */
+    Function antiderivative(){
+        return null;
+    }
+    /**
+     * Approximates the function on an interval by a piecewise Chebyshev series, which is cheap to
+     * evaluate however large the tree is. See ChebyshevApproximation for how the pieces are chosen.
+     * Fitting evaluates the function at a few hundred points per piece, so it pays off for
+     * functions evaluated many times on the same interval.
+     * @param a the left end of the interval
+     * @param b the right end of the interval
+     * @param tolerance the largest error allowed, relative to the largest absolute value of the function
+     *                  on a piece, or absolute where that value is below 1
+     * @return the approximation, whose getErrorBound reports the error reached
+     * @throws IllegalArgumentException if a and b are not finite with a < b, or the tolerance is not positive
+     */
+    public ChebyshevApproximation approximate(double a, double b, double tolerance){
+        return new ChebyshevApproximation(this, a, b, tolerance);
+    }
+    /**
+     * Compiles the function into a single generated class whose valueAt is straight-line arithmetic.
+     * Subtrees that are shared by reference are evaluated once per call, and node types
+     * the compiler does not understand are evaluated through their own valueAt.
+     * The compiled function returns bit-identical results to this function.
+     * @return the compiled function, or this function if the tree is too large to compile
+     */
+    public Function compile(){
+        return FunctionCompiler.compile(this);
+    }
+    /**
+     * Emits the code that computes the value of this node.
+     * Node types without their own implementation are called through valueAt.
+     * @param emitter the emitter to emit the code to
+     */
+    void compileTo(Emitter emitter){
+        emitter.fallback(this);
+    }
+    /**
+     * Lowers the function into a Tape, a flat postfix program in a heap buffer
+     * that is evaluated by a stack machine instead of by walking the tree.
+     * @return the tape
+     */
+    public Tape toTape(){
+        return Tape.of(this);
+    }
+    /**
+     * Lowers the function into a Tape written to the buffer at its position,
+     * which is advanced past the tape. Passing one large direct buffer for many functions
+     * keeps their tapes outside the heap.
+     * @param destination the buffer to write the tape to
+     * @return the tape
+     */
+    public Tape toTape(ByteBuffer destination){
+        return Tape.of(this, destination);
+    }
+    /**
+     * Eliminates the common subexpressions of the function: structurally identical subtrees,
+     * such as the copies of a factor in the derivative of a MultiProduct, become one node,
+     * and the resulting DAG is lowered into a SlotProgram that evaluates every distinct node
+     * once per input point. The program interns with an Interner of its own,
+     * which is dropped once the program is built.
+     * @return the program, whose values are bit-identical to the values of this function
+     */
+    public SlotProgram eliminateCommonSubexpressions(){
+        return new SlotProgram(this);
+    }
+    /**
+     * Returns the direct subfunctions of this node.
+     * Node types without their own implementation are treated as leaves.
+     * @return a new array holding the subfunctions
+     */
+    Function[] children(){
+        return new Function[0];
+    }
+    /**
+     * Returns a node of the same type and data as this node with the given subfunctions.
+     * @param children the subfunctions, in the order returned by children
+     * @return a new node with the given subfunctions
+     */
+    Function withChildren(Function[] children){
+        return this;
+    }
+    /**
+     * Tells whether a node of the same class holds the same data as this node, not counting the subfunctions.
+     * Node types without their own implementation are only equal to themselves.
+     * @param other a node of the same class
+     * @return true if both nodes hold the same data
+     */
+    boolean sameData(Function other){
+        return this == other;
+    }
+    /**
+     * Returns a hash code of the data compared by sameData.
+     * @return the hash code of the data
+     */
+    int dataHash(){
+        return System.identityHashCode(this);
+    }
+    /**
+     * Returns the simplified version of a subfunction, taken from the interner
+     * when it is called while an interner computes a derivative or a simplification.
+     * @param function the subfunction
+     * @return the simplified subfunction
+     */
+    static Function simplifiedOf(Function function){
+        Interner interner = Interner.active();
+        if ( interner == null )
+            return function.simplify();
+        return interner.simplify(function);
+    }
+    /**
+     * Returns the derivative of a subfunction, taken from the interner
+     * when it is called while an interner computes a derivative.
+     * @param function the subfunction
+     * @return the derivative of the subfunction
+     */
+    static Function derivativeOf(Function function){
+        Interner interner = Interner.active();
+        if ( interner == null )
+            return function.derivative();
+        return interner.derivative(function);
+    }
+    /**
+     * Applies the bisection method to find the root of the function within a given interval.
+     * @param a the left endpoint of the interval
+     * @param b the right endpoint of the interval
+     * @param epsilon the desired precision of the root
+     * @return the approximated root of the function within the specified interval
+     */
+    public double bisectionMethod(double a, double b, double epsilon){
+        return new RootFinder(this, epsilon, DEFAULT_MAX_ITERATIONS).bisection(a, b).getRoot();
+    }
+    /**
+     * Applies the bisection method to find the root of the function within a given interval.
+     * Uses a default epsilon value of 10^-5.
+     * @param a the left endpoint of the interval
+     * @param b the right endpoint of the interval
+     * @return the approximated root of the function within the specified interval
+     */
+    public double bisectionMethod(double a, double b) {
+        return bisectionMethod(a, b, Math.pow(10.0,-5.0));
+    }
+    /**
+     * Applies the Newton Raphson method to find the root of the function starting from a given initial guess.
+     * The value and the derivative of every step come from one pass of valueAndDerivativeAt.
+     * The method gives up when the derivative is 0, when an iterate or a value is no longer finite,
+     * or when the root is not found within the given number of steps.
+     * @param a the initial guess for the root
+     * @param epsilon the desired precision of the root
+     * @param maxIterations the largest number of steps to take
+     * @return the approximated root of the function, or NaN if the method gave up
+     */
+    public double newtonRaphsonMethod(double a, double epsilon, int maxIterations){
+        RootFinder.Result result = new RootFinder(this, epsilon, maxIterations).newton(a);
+        return result.isConverged() ? result.getRoot() : Double.NaN;
+    }
+    /**
+     * Applies the Newton Raphson method to find the root of the function starting from a given initial guess.
+     * Gives up after DEFAULT_MAX_ITERATIONS steps.
+     * @param a the initial guess for the root
+     * @param epsilon the desired precision of the root
+     * @return the approximated root of the function, or NaN if the method gave up
+     */
+    public double newtonRaphsonMethod(double a, double epsilon){
+        return newtonRaphsonMethod(a, epsilon, DEFAULT_MAX_ITERATIONS);
+    }
+    /**
+     * Applies the Newton Raphson method to find the root of the function starting from a given initial guess.
+     * Uses a default epsilon value of 10^-5 and gives up after DEFAULT_MAX_ITERATIONS steps.
+     * @param a the initial guess for the root
+     * @return the approximated root of the function, or NaN if the method gave up
+     */
+    public double newtonRaphsonMethod(double a){
+        return newtonRaphsonMethod(a, Math.pow(10.0,-5.0));
+    }
+    /**
+     * Calculates the Taylor polynomial of the function up to the specified degree.
+     * The coefficients are computed by forward-mode automatic differentiation, see taylorCoefficientsAt.
+     * @param n the degree of the Taylor polynomial
+     * @return the Taylor polynomial of the function as a new Function object
+     */
+    public Function taylorPolynomial(int n){
+        return new Polynomial(taylorCoefficientsAt(0.0, n));
+    }
+    /**
+     * Calculates the Taylor polynomial of the function around a given point up to the specified degree,
+     * the sum of f^(k)(c) / k! * (x - c)^k for k = 0..n. The coefficients are computed by
+     * forward-mode automatic differentiation, see taylorCoefficientsAt.
+     * Around 0 the result is a Polynomial. Around another point it is the Horner scheme in x - c
+     * built from Sum, Product and Constant nodes that share one Polynomial node x - c,
+     * because expanding it into powers of x can cancel away most of its accuracy near c.
+     * Polynomial.normalize expands it when that is wanted.
+     * @param n the degree of the Taylor polynomial
+     * @param c the point to expand around
+     * @return the Taylor polynomial of the function as a new Function object
+     */
+    public Function taylorPolynomial(int n, double c){
+        double[] coefficients = taylorCoefficientsAt(c, n);
+        if ( c == 0.0 )
+            return new Polynomial(coefficients);
+        Function shift = new Polynomial(-c, 1);
+        int degree = n;
+        while ( degree > 0 && coefficients[degree] == 0.0 ){
+            degree--;
+        }
+        Function result = new Constant(coefficients[degree]);
+        for ( int k = degree - 1 ; k >= 0 ; k-- ){
+            result = new Sum(new Constant(coefficients[k]), new Product(shift, result));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,392 @@
+package functions;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The FunctionCompiler class turns a function tree into a single hidden class
+ * whose valueAt method is straight-line arithmetic.
+ * Every node emits its own code through compileTo. Nodes that are referenced more than once
+ * are evaluated once and kept in a local variable, and nodes the compiler does not understand
+ * are called through their own valueAt.
+ * The generated code performs the same operations in the same order as the tree,
+ * so the compiled function returns bit-identical results.
+ */
+final class FunctionCompiler extends Emitter {
+    /**
+     * The largest method HotSpot compiles to machine code, larger trees are left interpreted.
+     */
+    private static final int MAX_CODE_LENGTH = 8000;
+
+    private static final int DCONST_0 = 0x0e;
+    private static final int SIPUSH = 0x11;
+    private static final int LDC2_W = 0x14;
+    private static final int DLOAD = 0x18;
+    private static final int DLOAD_1 = 0x27;
+    private static final int ALOAD_0 = 0x2a;
+    private static final int ALOAD_1 = 0x2b;
+    private static final int ALOAD_2 = 0x2c;
+    private static final int AALOAD = 0x32;
+    private static final int DSTORE = 0x39;
+    private static final int DUP2 = 0x5c;
+    private static final int DADD = 0x63;
+    private static final int DSUB = 0x67;
+    private static final int DMUL = 0x6b;
+    private static final int DDIV = 0x6f;
+    private static final int DNEG = 0x77;
+    private static final int DRETURN = 0xaf;
+    private static final int RETURN = 0xb1;
+    private static final int GETFIELD = 0xb4;
+    private static final int INVOKEVIRTUAL = 0xb6;
+    private static final int INVOKESPECIAL = 0xb7;
+    private static final int INVOKESTATIC = 0xb8;
+    private static final int WIDE = 0xc4;
+
+    private final ConstantPool constantPool = new ConstantPool();
+    private final ByteArrayOutputStream code = new ByteArrayOutputStream();
+    private final Map<Function, Integer> references = new IdentityHashMap<>();
+    private final Map<Function, Integer> locals = new IdentityHashMap<>();
+    private final List<Function> fallbacks = new ArrayList<>();
+    private boolean counting = true;
+    private int stack;
+    private int maxStack;
+    private int nextLocal = 3;
+
+    private FunctionCompiler(){
+    }
+
+    /**
+     * Compiles the function into a hidden class.
+     * @param function the function to compile
+     * @return the compiled function, or the function itself if it is too large to compile
+     */
+    static Function compile(Function function){
+        FunctionCompiler compiler = new FunctionCompiler();
+        compiler.emit(function);
+        compiler.counting = false;
+        compiler.emit(function);
+        compiler.instruction(DRETURN, -2);
+        if ( compiler.code.size() > MAX_CODE_LENGTH || compiler.nextLocal > 0xffff || compiler.fallbacks.size() > Short.MAX_VALUE )
+            return function;
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup().defineHiddenClass(compiler.toClassFile(), true);
+            return (Function) lookup.findConstructor(lookup.lookupClass(), MethodType.methodType(void.class, Function.class, Function[].class))
+                    .invoke(function, compiler.fallbacks.toArray(new Function[0]));
+        } catch (Throwable e) {
+            throw new IllegalStateException("could not compile " + function, e);
+        }
+    }
+
+    /**
+     * Emits the code that pushes the value of a node.
+     * A node that appears more than once in the tree is computed the first time
+     * and loaded from a local variable afterwards.
+     * @param function the node to emit
+     */
+    @Override
+    void emit(Function function){
+        if ( counting ){
+            if ( references.merge(function, 1, Integer::sum) == 1 )
+                function.compileTo(this);
+            return;
+        }
+        Integer local = locals.get(function);
+        if ( local != null ){
+            load(local);
+            return;
+        }
+        function.compileTo(this);
+        if ( references.get(function) > 1 ){
+            locals.put(function, nextLocal);
+            instruction(DUP2, 2);
+            localInstruction(DSTORE, nextLocal, -2);
+            nextLocal += 2;
+        }
+    }
+    /**
+     * Emits a call to the node's own valueAt, used for nodes without compiled code.
+     * @param function the node to call
+     */
+    @Override
+    void fallback(Function function){
+        if ( counting )
+            return;
+        fallbacks.add(function);
+        instruction(ALOAD_0, 1);
+        code.write(GETFIELD);
+        u2(constantPool.fieldref("functions/CompiledFunction", "fallbacks", "[Lfunctions/Function;"));
+        code.write(SIPUSH);
+        u2(fallbacks.size() - 1);
+        adjustStack(1);
+        instruction(AALOAD, -1);
+        instruction(DLOAD_1, 2);
+        code.write(INVOKEVIRTUAL);
+        u2(constantPool.methodref("functions/Function", "valueAt", "(D)D"));
+        adjustStack(-1);
+    }
+    /**
+     * Emits the code that pushes a constant.
+     * @param value the constant
+     */
+    @Override
+    void constant(double value){
+        if ( counting )
+            return;
+        if ( Double.doubleToRawLongBits(value) == 0L ){
+            instruction(DCONST_0, 2);
+            return;
+        }
+        code.write(LDC2_W);
+        u2(constantPool.doubleConstant(value));
+        adjustStack(2);
+    }
+    /**
+     * Emits the code that pushes the input value x.
+     */
+    @Override
+    void variable(){
+        instruction(DLOAD_1, 2);
+    }
+    /**
+     * Emits the addition of the two values on top of the stack.
+     */
+    @Override
+    void add(){
+        instruction(DADD, -2);
+    }
+    /**
+     * Emits the subtraction of the two values on top of the stack.
+     */
+    @Override
+    void subtract(){
+        instruction(DSUB, -2);
+    }
+    /**
+     * Emits the multiplication of the two values on top of the stack.
+     */
+    @Override
+    void multiply(){
+        instruction(DMUL, -2);
+    }
+    /**
+     * Emits the division of the two values on top of the stack.
+     */
+    @Override
+    void divide(){
+        instruction(DDIV, -2);
+    }
+    /**
+     * Emits the negation of the value on top of the stack.
+     */
+    @Override
+    void negate(){
+        instruction(DNEG, 0);
+    }
+    /**
+     * Emits the code that pops the value on top of the stack into a new local variable.
+     * @return the index of the local variable
+     */
+    @Override
+    int store(){
+        if ( counting )
+            return 0;
+        int local = nextLocal;
+        localInstruction(DSTORE, local, -2);
+        nextLocal += 2;
+        return local;
+    }
+    /**
+     * Emits the code that pushes a local variable created by store.
+     * @param local the index of the local variable
+     */
+    @Override
+    void load(int local){
+        if ( counting )
+            return;
+        localInstruction(DLOAD, local, 2);
+    }
+    /**
+     * Emits a call to Math.pow on the two values on top of the stack.
+     */
+    @Override
+    void pow(){
+        if ( counting )
+            return;
+        code.write(INVOKESTATIC);
+        u2(constantPool.methodref("java/lang/Math", "pow", "(DD)D"));
+        adjustStack(-2);
+    }
+    /**
+     * Emits a call to RationalPower.root on the two values on top of the stack.
+     */
+    @Override
+    void root(){
+        if ( counting )
+            return;
+        code.write(INVOKESTATIC);
+        u2(constantPool.methodref("functions/RationalPower", "root", "(DD)D"));
+        adjustStack(-2);
+    }
+
+    private void localInstruction(int opcode, int local, int stackChange){
+        if ( local > 0xff ){
+            code.write(WIDE);
+            code.write(opcode);
+            u2(local);
+        } else {
+            code.write(opcode);
+            code.write(local);
+        }
+        adjustStack(stackChange);
+    }
+    private void instruction(int opcode, int stackChange){
+        if ( counting )
+            return;
+        code.write(opcode);
+        adjustStack(stackChange);
+    }
+    private void adjustStack(int change){
+        stack += change;
+        maxStack = Math.max(maxStack, stack);
+    }
+    private void u2(int value){
+        code.write(value >>> 8);
+        code.write(value);
+    }
+
+    /**
+     * Writes the class file of a final subclass of CompiledFunction
+     * with a constructor and the compiled valueAt method.
+     * The methods have no branches, so no stack map frames are needed.
+     * @return the bytes of the class file
+     */
+    private byte[] toClassFile() throws IOException {
+        int thisClass = constantPool.classref("functions/FunctionCompiler$Compiled");
+        int superClass = constantPool.classref("functions/CompiledFunction");
+        int superConstructor = constantPool.methodref("functions/CompiledFunction", "<init>", "(Lfunctions/Function;[Lfunctions/Function;)V");
+        int constructorName = constantPool.utf8("<init>");
+        int constructorType = constantPool.utf8("(Lfunctions/Function;[Lfunctions/Function;)V");
+        int valueAtName = constantPool.utf8("valueAt");
+        int valueAtType = constantPool.utf8("(D)D");
+        int codeAttribute = constantPool.utf8("Code");
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(0xcafebabe);
+        out.writeShort(0);
+        out.writeShort(61);
+        constantPool.writeTo(out);
+        out.writeShort(0x0010 | 0x0020); // ACC_FINAL | ACC_SUPER
+        out.writeShort(thisClass);
+        out.writeShort(superClass);
+        out.writeShort(0); // interfaces
+        out.writeShort(0); // fields
+        out.writeShort(2); // methods
+
+        byte[] constructor = { (byte) ALOAD_0, (byte) ALOAD_1, (byte) ALOAD_2,
+                (byte) INVOKESPECIAL, (byte) (superConstructor >>> 8), (byte) superConstructor, (byte) RETURN };
+        writeMethod(out, 0, constructorName, constructorType, codeAttribute, 3, 3, constructor);
+        writeMethod(out, 0x0001 | 0x0010, valueAtName, valueAtType, codeAttribute, maxStack, nextLocal, code.toByteArray());
+
+        out.writeShort(0); // attributes
+        out.flush();
+        return bytes.toByteArray();
+    }
+    private static void writeMethod(DataOutputStream out, int access, int name, int type, int codeAttribute,
+                                    int maxStack, int maxLocals, byte[] code) throws IOException {
+        out.writeShort(access);
+        out.writeShort(name);
+        out.writeShort(type);
+        out.writeShort(1);
+        out.writeShort(codeAttribute);
+        out.writeInt(12 + code.length);
+        out.writeShort(maxStack);
+        out.writeShort(maxLocals);
+        out.writeInt(code.length);
+        out.write(code);
+        out.writeShort(0); // exception table
+        out.writeShort(0); // attributes
+    }
+
+    /**
+     * The constant pool of the generated class, every entry is written once.
+     */
+    private static final class ConstantPool {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final DataOutputStream out = new DataOutputStream(bytes);
+        private final Map<String, Integer> entries = new HashMap<>();
+        private int count = 1;
+
+        int utf8(String value){
+            return entry("U" + value, 1, () -> {
+                out.writeByte(1);
+                out.writeUTF(value);
+            });
+        }
+        int classref(String name){
+            int nameIndex = utf8(name);
+            return entry("C" + name, 1, () -> {
+                out.writeByte(7);
+                out.writeShort(nameIndex);
+            });
+        }
+        int fieldref(String owner, String name, String type){
+            return memberref(9, owner, name, type);
+        }
+        int methodref(String owner, String name, String type){
+            return memberref(10, owner, name, type);
+        }
+        int doubleConstant(double value){
+            long bits = Double.doubleToRawLongBits(value);
+            return entry("D" + bits, 2, () -> {
+                out.writeByte(6);
+                out.writeLong(bits);
+            });
+        }
+        private int memberref(int tag, String owner, String name, String type){
+            int ownerIndex = classref(owner);
+            int nameIndex = utf8(name);
+            int typeIndex = utf8(type);
+            int nameAndType = entry("N" + name + " " + type, 1, () -> {
+                out.writeByte(12);
+                out.writeShort(nameIndex);
+                out.writeShort(typeIndex);
+            });
+            return entry(tag + owner + "." + name + " " + type, 1, () -> {
+                out.writeByte(tag);
+                out.writeShort(ownerIndex);
+                out.writeShort(nameAndType);
+            });
+        }
+        private int entry(String key, int slots, Writer writer){
+            Integer index = entries.get(key);
+            if ( index != null )
+                return index;
+            try {
+                writer.write();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            entries.put(key, count);
+            count += slots;
+            return count - slots;
+        }
+        void writeTo(DataOutputStream target) throws IOException {
+            out.flush();
+            target.writeShort(count);
+            bytes.writeTo(target);
+        }
+
+        private interface Writer {
+            void write() throws IOException;
+        }
+    }
+}
@@ -0,0 +1,352 @@
+package functions;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.ref.SoftReference;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The FunctionLibrary class stores many functions in one compact binary file and loads them back lazily.
+ * Every distinct node is written once, a subtree shared by several nodes or functions is written
+ * once and referenced by its index, so the loaded functions share it as well.
+ * The file starts with a header and two tables of ints, all big-endian:
+ * <pre>
+ * int magic "FUNC", int version, int numberOfNodes, int numberOfFunctions
+ * int[numberOfFunctions] the index of the root node of every function
+ * int[numberOfNodes]     the offset of every node from the start of the file
+ * </pre>
+ * followed by the nodes, children before their parents. A node is a tag byte and its data:
+ * a double for a Constant, the evaluation scheme, the number of coefficients and the coefficients
+ * for a Polynomial, the index of the base and the exponent for a Power, the indices of the operands
+ * for Sum, Difference, Product, Quotient and Negation, and the number of operands and their indices
+ * for MultiSum and MultiProduct, an int index for a Variable, the index of the base and the numerator
+ * and denominator for a RationalPower, and the indices of the base and its derivative and the exponent
+ * for a PowerDerivative. A compiled function is stored as the function it was compiled from.
+ * Opening a library maps the file into memory and reads only the header,
+ * a function and its nodes are built the first time the function is requested,
+ * so opening takes the same time whatever the size of the library.
+ * Built nodes are cached through soft references, so the nodes of functions nobody holds
+ * any more can be reclaimed under memory pressure and are built again when requested.
+ * A library may be read by several threads at once.
+ */
+public final class FunctionLibrary {
+    private static final int MAGIC = 0x46554e43;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+
+    private static final byte CONSTANT = 0;
+    private static final byte POLYNOMIAL = 1;
+    private static final byte SUM = 2;
+    private static final byte DIFFERENCE = 3;
+    private static final byte PRODUCT = 4;
+    private static final byte QUOTIENT = 5;
+    private static final byte NEGATION = 6;
+    private static final byte POWER = 7;
+    private static final byte MULTI_SUM = 8;
+    private static final byte MULTI_PRODUCT = 9;
+    private static final byte VARIABLE = 10;
+    private static final byte RATIONAL_POWER = 11;
+    private static final byte POWER_DERIVATIVE = 12;
+    private static final Polynomial.Evaluation[] EVALUATIONS = Polynomial.Evaluation.values();
+
+    private final ByteBuffer data;
+    private final int numberOfNodes;
+    private final int numberOfFunctions;
+    private final Map<Integer, SoftReference<Function>> nodes = new ConcurrentHashMap<>();
+
+    private FunctionLibrary(ByteBuffer data) throws IOException {
+        this.data = data;
+        if ( data.capacity() < HEADER_SIZE || data.getInt(0) != MAGIC )
+            throw new IOException("not a function library");
+        if ( data.getInt(4) != VERSION )
+            throw new IOException("unsupported function library version " + data.getInt(4));
+        this.numberOfNodes = data.getInt(8);
+        this.numberOfFunctions = data.getInt(12);
+        if ( numberOfNodes < 0 || numberOfFunctions < 0
+                || HEADER_SIZE + 4L * (numberOfFunctions + (long) numberOfNodes) > data.capacity() )
+            throw new IOException("truncated function library");
+    }
+
+    /**
+     * Writes the functions to a file in the library format, replacing the file if it exists.
+     * @param file the file to write
+     * @param functions the functions to store
+     * @throws IOException if the file cannot be written
+     * @throws IllegalArgumentException if a function contains a node type the format does not support
+     */
+    public static void write(Path file, List<? extends Function> functions) throws IOException {
+        try (OutputStream out = Files.newOutputStream(file)) {
+            write(out, functions);
+        }
+    }
+    /**
+     * Writes the functions to a stream in the library format. The stream is flushed but not closed.
+     * @param out the stream to write to
+     * @param functions the functions to store
+     * @throws IOException if the stream throws it
+     * @throws IllegalArgumentException if a function contains a node type the format does not support
+     */
+    public static void write(OutputStream out, List<? extends Function> functions) throws IOException {
+        Encoder encoder = new Encoder();
+        int[] roots = new int[functions.size()];
+        for ( int i = 0 ; i < roots.length ; i++ ){
+            roots[i] = encoder.encode(functions.get(i));
+        }
+        DataOutputStream header = new DataOutputStream(new BufferedOutputStream(out));
+        header.writeInt(MAGIC);
+        header.writeInt(VERSION);
+        header.writeInt(encoder.numberOfNodes);
+        header.writeInt(roots.length);
+        for ( int root : roots ){
+            header.writeInt(root);
+        }
+        int nodesStart = HEADER_SIZE + 4 * (roots.length + encoder.numberOfNodes);
+        for ( int i = 0 ; i < encoder.numberOfNodes ; i++ ){
+            header.writeInt(nodesStart + encoder.offsets[i]);
+        }
+        encoder.out.flush();
+        encoder.bytes.writeTo(header);
+        header.flush();
+    }
+
+    /**
+     * Opens a library file by mapping it into memory. Only the header is read,
+     * the functions are built when they are requested.
+     * @param file the file to open, at most 2 GB
+     * @return the library
+     * @throws IOException if the file cannot be read or is not a function library
+     */
+    public static FunctionLibrary open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new FunctionLibrary(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+    /**
+     * Reads a library from a buffer holding the library format, for example one received over the network.
+     * The buffer must not be changed while the library is in use.
+     * @param data the buffer, read from index 0 to its capacity
+     * @return the library
+     * @throws IOException if the buffer does not hold a function library
+     */
+    public static FunctionLibrary wrap(ByteBuffer data) throws IOException {
+        return new FunctionLibrary(data.duplicate());
+    }
+
+    /**
+     * Returns the number of functions in the library.
+     * @return the number of functions
+     */
+    public int size(){
+        return numberOfFunctions;
+    }
+    /**
+     * Returns the number of distinct nodes in the library.
+     * @return the number of nodes
+     */
+    public int numberOfNodes(){
+        return numberOfNodes;
+    }
+    /**
+     * Returns a function of the library, building its nodes the first time they are requested.
+     * Nodes shared with functions returned before that are still reachable are the same objects,
+     * also when the functions are requested by different threads.
+     * @param index the position of the function in the list it was written from
+     * @return the function
+     * @throws IllegalStateException if the library is corrupt
+     */
+    public Function get(int index){
+        if ( index < 0 || index >= numberOfFunctions )
+            throw new IndexOutOfBoundsException("function " + index + " of " + numberOfFunctions);
+        try {
+            return node(data.getInt(HEADER_SIZE + 4 * index), numberOfNodes);
+        } catch ( IndexOutOfBoundsException | IllegalArgumentException e ){
+            throw new IllegalStateException("corrupt function library: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Returns a node, building it and the nodes below it if it was not built before.
+     * @param index the index of the node
+     * @param parent the index of the node referencing it, which must come later in the file
+     * @return the node
+     */
+    private Function node(int index, int parent){
+        if ( index < 0 || index >= parent )
+            throw new IllegalStateException("corrupt function library: node " + index + " referenced by node " + parent);
+        SoftReference<Function> cached = nodes.get(index);
+        Function function = cached == null ? null : cached.get();
+        if ( function != null )
+            return function;
+        int offset = data.getInt(HEADER_SIZE + 4 * (numberOfFunctions + index));
+        if ( offset < HEADER_SIZE || offset >= data.capacity() )
+            throw new IllegalStateException("corrupt function library: node " + index + " at offset " + offset);
+        byte tag = data.get(offset);
+        offset++;
+        switch (tag){
+            case CONSTANT:
+                function = new Constant(data.getDouble(offset));
+                break;
+            case POLYNOMIAL:
+                int ordinal = data.get(offset);
+                if ( ordinal < 0 || ordinal >= EVALUATIONS.length )
+                    throw new IllegalStateException("corrupt function library: unknown polynomial evaluation " + ordinal);
+                int length = data.getInt(offset + 1);
+                if ( length < 0 || offset + 5 + 8L * length > data.capacity() )
+                    throw new IllegalStateException("corrupt function library: polynomial of " + length + " coefficients");
+                Polynomial.Evaluation evaluation = EVALUATIONS[ordinal];
+                double[] coefficients = new double[length];
+                for ( int i = 0 ; i < coefficients.length ; i++ ){
+                    coefficients[i] = data.getDouble(offset + 5 + 8 * i);
+                }
+                function = new Polynomial(evaluation, coefficients);
+                break;
+            case SUM:
+                function = new Sum(node(data.getInt(offset), index), node(data.getInt(offset + 4), index));
+                break;
+            case DIFFERENCE:
+                function = new Difference(node(data.getInt(offset), index), node(data.getInt(offset + 4), index));
+                break;
+            case PRODUCT:
+                function = new Product(node(data.getInt(offset), index), node(data.getInt(offset + 4), index));
+                break;
+            case QUOTIENT:
+                function = new Quotient(node(data.getInt(offset), index), node(data.getInt(offset + 4), index));
+                break;
+            case NEGATION:
+                function = new Negation(node(data.getInt(offset), index));
+                break;
+            case POWER:
+                function = Power.of(node(data.getInt(offset), index), data.getInt(offset + 4));
+                break;
+            case MULTI_SUM:
+                function = new MultiSum(operands(offset, index));
+                break;
+            case MULTI_PRODUCT:
+                function = new MultiProduct(operands(offset, index));
+                break;
+            case VARIABLE:
+                function = new Variable(data.getInt(offset));
+                break;
+            case RATIONAL_POWER:
+                function = Power.of(node(data.getInt(offset), index), data.getInt(offset + 4), data.getInt(offset + 8));
+                break;
+            case POWER_DERIVATIVE:
+                function = new PowerDerivative(node(data.getInt(offset), index), data.getInt(offset + 8), node(data.getInt(offset + 4), index));
+                break;
+            default:
+                throw new IllegalStateException("corrupt function library: unknown node type " + tag);
+        }
+        SoftReference<Function> built = new SoftReference<>(function);
+        Function shared = nodes.merge(index, built, (old, ignored) -> old.get() != null ? old : built).get();
+        return shared != null ? shared : function;
+    }
+    private Function[] operands(int offset, int index){
+        int length = data.getInt(offset);
+        if ( length < 0 || offset + 4 + 4L * length > data.capacity() )
+            throw new IllegalStateException("corrupt function library: " + length + " operands");
+        Function[] operands = new Function[length];
+        for ( int i = 0 ; i < operands.length ; i++ ){
+            operands[i] = node(data.getInt(offset + 4 + 4 * i), index);
+        }
+        return operands;
+    }
+
+    /**
+     * The Encoder writes the distinct nodes of the functions, children first,
+     * and remembers the index of every node it has written.
+     */
+    private static final class Encoder {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final DataOutputStream out = new DataOutputStream(bytes);
+        private final Map<Function, Integer> indices = new IdentityHashMap<>();
+        private int[] offsets = new int[64];
+        private int numberOfNodes;
+
+        int encode(Function function) throws IOException {
+            Integer index = indices.get(function);
+            if ( index != null )
+                return index;
+            if ( function instanceof CompiledFunction ){
+                index = encode(((CompiledFunction) function).source);
+                indices.put(function, index);
+                return index;
+            }
+            Function[] children = function.children();
+            int[] childIndices = new int[children.length];
+            for ( int i = 0 ; i < children.length ; i++ ){
+                childIndices[i] = encode(children[i]);
+            }
+            if ( numberOfNodes == offsets.length )
+                offsets = Arrays.copyOf(offsets, 2 * numberOfNodes);
+            offsets[numberOfNodes] = out.size();
+            if ( function instanceof Constant ){
+                out.writeByte(CONSTANT);
+                out.writeDouble(((Constant) function).y);
+            } else if ( function instanceof Polynomial ){
+                Polynomial polynomial = (Polynomial) function;
+                double[] coefficients = polynomial.getCoefficients();
+                out.writeByte(POLYNOMIAL);
+                out.writeByte(polynomial.getEvaluation().ordinal());
+                out.writeInt(coefficients.length);
+                for ( double coefficient : coefficients ){
+                    out.writeDouble(coefficient);
+                }
+            } else if ( function instanceof Variable ){
+                out.writeByte(VARIABLE);
+                out.writeInt(((Variable) function).getIndex());
+            } else if ( function instanceof RationalPower ){
+                out.writeByte(RATIONAL_POWER);
+                out.writeInt(childIndices[0]);
+                out.writeInt(((RationalPower) function).getNumerator());
+                out.writeInt(((RationalPower) function).getDenominator());
+            } else if ( function instanceof PowerDerivative ){
+                out.writeByte(POWER_DERIVATIVE);
+                out.writeInt(childIndices[0]);
+                out.writeInt(childIndices[1]);
+                out.writeInt(((PowerDerivative) function).getExponent());
+            } else if ( function instanceof Power ){
+                out.writeByte(POWER);
+                out.writeInt(childIndices[0]);
+                out.writeInt(((Power) function).getExponent());
+            } else if ( function instanceof MultiSum || function instanceof MultiProduct ){
+                out.writeByte(function instanceof MultiSum ? MULTI_SUM : MULTI_PRODUCT);
+                out.writeInt(childIndices.length);
+                for ( int childIndex : childIndices ){
+                    out.writeInt(childIndex);
+                }
+            } else {
+                out.writeByte(tag(function));
+                for ( int childIndex : childIndices ){
+                    out.writeInt(childIndex);
+                }
+            }
+            indices.put(function, numberOfNodes);
+            return numberOfNodes++;
+        }
+        private static byte tag(Function function){
+            if ( function instanceof Sum )
+                return SUM;
+            if ( function instanceof Difference )
+                return DIFFERENCE;
+            if ( function instanceof Product )
+                return PRODUCT;
+            if ( function instanceof Quotient )
+                return QUOTIENT;
+            if ( function instanceof Negation )
+                return NEGATION;
+            throw new IllegalArgumentException("cannot store " + function.getClass().getSimpleName() + " in a function library");
+        }
+    }
+}
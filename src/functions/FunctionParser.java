@@ -0,0 +1,362 @@
+package functions;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The FunctionParser class turns text into a function tree, reading it once from left to right.
+ * It accepts the format written by toString as well as the usual infix syntax:
+ * <pre>
+ * expression = term { ("+" | "-") term }
+ * term       = factor { ("*" | "/") factor }
+ * factor     = "-" factor | power { power }     juxtaposition, as in 2x^3 or 2(x + 1), multiplies
+ * power      = primary [ "^" ( integer | "(" integer "/" integer ")" ) ]
+ * primary    = number | "x" | "x_" index | "(" expression ")"
+ * </pre>
+ * "x_" followed by a natural number is a Variable of a function of several variables.
+ * Numbers are written as Double.toString writes them, including NaN and Infinity.
+ * Numbers and powers of x that are combined by +, -, * and juxtaposition without parentheses
+ * become one Polynomial, or a Constant when x does not appear, so "(x^2 + 1.5x^3)" is a Polynomial
+ * and "(-4)" a Constant. In a sum that also has other operands, all of its monomials are merged
+ * into one Polynomial that comes first. Parenthesized operands become nodes of their own: a chain of two operands
+ * becomes a Sum, Difference, Product or Quotient, a chain of more operands joined only by +
+ * or only by * becomes a MultiSum or MultiProduct, and other chains are grouped from the left.
+ * A minus sign in front of parentheses becomes a Negation, a parenthesized base with an
+ * integer exponent a Power made by Power.of, and one with a fraction exponent such as ^(1/3)
+ * a RationalPower. Parsing the result of toString gives back a tree with the same
+ * string representation, except that a MultiSum or MultiProduct of two functions
+ * comes back as a Sum or Product, a Polynomial of degree 0 as a Constant,
+ * and the derivative of a Power as the MultiProduct it stands for.
+ */
+public final class FunctionParser {
+    /**
+     * The highest power of x kept in a Polynomial, higher powers become Power nodes
+     * instead of allocating a coefficient array of that length.
+     */
+    private static final int MAX_POLYNOMIAL_DEGREE = 4096;
+    /**
+     * Numbers with at most this many significant digits and no exponent are converted
+     * by one division of two exactly representable doubles, which rounds correctly,
+     * longer numbers go through Double.parseDouble.
+     */
+    private static final int MAX_EXACT_DIGITS = 15;
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+
+    private final CharSequence source;
+    private int position;
+
+    private FunctionParser(CharSequence source){
+        this.source = source;
+    }
+
+    /**
+     * Parses a function.
+     * @param source the text of the function
+     * @return the function
+     * @throws IllegalArgumentException if the text is not a valid function, with the position of the error
+     */
+    public static Function parse(CharSequence source){
+        FunctionParser parser = new FunctionParser(source);
+        Function function = parser.expression().toFunction();
+        parser.skipWhitespace();
+        if ( parser.position < source.length() )
+            throw parser.error("unexpected '" + source.charAt(parser.position) + "'");
+        return function;
+    }
+
+    private Term expression(){
+        Term first = term();
+        if ( !skipWhitespace() || (peek() != '+' && peek() != '-') )
+            return first;
+        List<Term> terms = new ArrayList<>();
+        StringBuilder operators = new StringBuilder();
+        terms.add(first);
+        while ( skipWhitespace() && (peek() == '+' || peek() == '-') ){
+            operators.append(source.charAt(position++));
+            terms.add(term());
+        }
+        int degree = 0;
+        for ( Term term : terms ){
+            degree = Math.max(degree, term.exponent);
+        }
+        double[] coefficients = new double[degree + 1];
+        boolean monomials = false;
+        List<Function> nodes = new ArrayList<>();
+        StringBuilder nodeOperators = new StringBuilder();
+        for ( int i = 0 ; i < terms.size() ; i++ ){
+            Term term = terms.get(i);
+            char operator = i == 0 ? '+' : operators.charAt(i - 1);
+            if ( term.node != null ){
+                nodes.add(term.node);
+                nodeOperators.append(operator);
+            } else {
+                monomials = true;
+                coefficients[term.exponent] += operator == '-' ? -term.coefficient : term.coefficient;
+            }
+        }
+        Term polynomial = degree == 0 ? Term.monomial(coefficients[0], 0) : Term.node(new Polynomial(coefficients));
+        if ( nodes.isEmpty() )
+            return polynomial;
+        if ( monomials ){
+            nodes.add(0, polynomial.toFunction());
+            nodeOperators.insert(0, '+');
+        }
+        if ( nodes.size() > 2 && nodeOperators.indexOf("-") < 0 )
+            return Term.node(new MultiSum(nodes.toArray(new Function[0])));
+        Function result = nodeOperators.charAt(0) == '-' ? new Negation(nodes.get(0)) : nodes.get(0);
+        for ( int i = 1 ; i < nodes.size() ; i++ ){
+            result = nodeOperators.charAt(i) == '+' ? new Sum(result, nodes.get(i)) : new Difference(result, nodes.get(i));
+        }
+        return Term.node(result);
+    }
+
+    private Term term(){
+        Term first = factor();
+        if ( !skipWhitespace() || (peek() != '*' && peek() != '/') )
+            return first;
+        List<Term> factors = new ArrayList<>();
+        StringBuilder operators = new StringBuilder();
+        factors.add(first);
+        while ( skipWhitespace() && (peek() == '*' || peek() == '/') ){
+            operators.append(source.charAt(position++));
+            factors.add(factor());
+        }
+        boolean products = operators.indexOf("/") < 0;
+        if ( products ){
+            Term result = first;
+            for ( int i = 1 ; i < factors.size() && result != null ; i++ ){
+                result = result.times(factors.get(i));
+            }
+            if ( result != null )
+                return result;
+        }
+        if ( factors.size() > 2 && products )
+            return Term.node(new MultiProduct(nodes(factors)));
+        Function result = first.toFunction();
+        for ( int i = 1 ; i < factors.size() ; i++ ){
+            Function next = factors.get(i).toFunction();
+            result = operators.charAt(i - 1) == '*' ? new Product(result, next) : new Quotient(result, next);
+        }
+        return Term.node(result);
+    }
+
+    private Term factor(){
+        skipWhitespace();
+        if ( position < source.length() && peek() == '-' ){
+            position++;
+            Term operand = factor();
+            return operand.node == null ? Term.monomial(-operand.coefficient, operand.exponent) : Term.node(new Negation(operand.node));
+        }
+        Term result = power();
+        while ( position < source.length() && (peek() == 'x' || peek() == '(') ){
+            Term next = power();
+            Term product = result.times(next);
+            result = product != null ? product : Term.node(new Product(result.toFunction(), next.toFunction()));
+        }
+        return result;
+    }
+
+    private Term power(){
+        Term base = primary();
+        if ( !skipWhitespace() || peek() != '^' )
+            return base;
+        position++;
+        skipWhitespace();
+        if ( position < source.length() && peek() == '(' ){
+            position++;
+            int numerator = integer();
+            if ( !skipWhitespace() || peek() != '/' )
+                throw error("expected '/'");
+            position++;
+            int denominator = integer();
+            if ( !skipWhitespace() || peek() != ')' )
+                throw error("expected ')'");
+            if ( denominator <= 0 )
+                throw error("the denominator of the exponent must be positive");
+            position++;
+            return Term.node(Power.of(base.toFunction(), numerator, denominator));
+        }
+        int exponent = integer();
+        if ( base.node == null && base.coefficient == 1 && base.exponent == 1 && exponent >= 0 && exponent <= MAX_POLYNOMIAL_DEGREE )
+            return Term.monomial(1, exponent);
+        return Term.node(Power.of(base.toFunction(), exponent));
+    }
+
+    private int integer(){
+        skipWhitespace();
+        int start = position;
+        if ( position < source.length() && (peek() == '-' || peek() == '+') )
+            position++;
+        while ( position < source.length() && isDigit(peek()) ){
+            position++;
+        }
+        if ( position == start || !isDigit(source.charAt(position - 1)) )
+            throw error("expected an integer exponent");
+        if ( position < source.length() && (peek() == '.' || peek() == 'E' || peek() == 'e') )
+            throw error("the exponent must be an integer");
+        try {
+            return Integer.parseInt(source, start, position, 10);
+        } catch (NumberFormatException e) {
+            throw error("exponent out of range");
+        }
+    }
+
+    private Term primary(){
+        if ( !skipWhitespace() )
+            throw error("unexpected end of input");
+        char c = peek();
+        if ( c == '(' ){
+            position++;
+            Function inner = expression().toFunction();
+            if ( !skipWhitespace() || peek() != ')' )
+                throw error("expected ')'");
+            position++;
+            return Term.node(inner);
+        }
+        if ( c == 'x' ){
+            position++;
+            if ( position < source.length() && peek() == '_' )
+                return Term.node(new Variable(index()));
+            return Term.monomial(1, 1);
+        }
+        if ( isDigit(c) || c == '.' )
+            return Term.monomial(number(), 0);
+        if ( startsWith("NaN") )
+            return Term.monomial(Double.NaN, 0);
+        if ( startsWith("Infinity") )
+            return Term.monomial(Double.POSITIVE_INFINITY, 0);
+        throw error("unexpected '" + c + "'");
+    }
+
+    private int index(){
+        int start = ++position;
+        while ( position < source.length() && isDigit(peek()) ){
+            position++;
+        }
+        if ( position == start )
+            throw error("expected the index of a variable");
+        try {
+            return Integer.parseInt(source, start, position, 10);
+        } catch (NumberFormatException e) {
+            throw error("variable index out of range");
+        }
+    }
+
+    private double number(){
+        int start = position;
+        long mantissa = 0;
+        int digits = 0;
+        int fractionDigits = -1;
+        while ( position < source.length() && (isDigit(peek()) || (peek() == '.' && fractionDigits < 0)) ){
+            if ( peek() == '.' )
+                fractionDigits = 0;
+            else {
+                if ( mantissa != 0 || peek() != '0' )
+                    digits++;
+                mantissa = 10 * mantissa + (peek() - '0');
+                if ( fractionDigits >= 0 )
+                    fractionDigits++;
+            }
+            position++;
+        }
+        boolean exponent = position < source.length() && (peek() == 'E' || peek() == 'e');
+        if ( exponent ){
+            int exponentStart = ++position;
+            if ( position < source.length() && (peek() == '-' || peek() == '+') )
+                position++;
+            while ( position < source.length() && isDigit(peek()) ){
+                position++;
+            }
+            if ( position == exponentStart || !isDigit(source.charAt(position - 1)) )
+                throw error("malformed number");
+        }
+        if ( !exponent && digits <= MAX_EXACT_DIGITS && fractionDigits < POWERS_OF_TEN.length && position - start > (fractionDigits == 0 ? 1 : 0) )
+            return fractionDigits <= 0 ? mantissa : mantissa / POWERS_OF_TEN[fractionDigits];
+        try {
+            return Double.parseDouble(source.subSequence(start, position).toString());
+        } catch (NumberFormatException e) {
+            position = start;
+            throw error("malformed number");
+        }
+    }
+
+    private boolean startsWith(String word){
+        if ( position + word.length() > source.length() )
+            return false;
+        for ( int i = 0 ; i < word.length() ; i++ ){
+            if ( source.charAt(position + i) != word.charAt(i) )
+                return false;
+        }
+        position += word.length();
+        return true;
+    }
+    /**
+     * Skips spaces and tells whether there is more input.
+     * @return true if the input is not exhausted
+     */
+    private boolean skipWhitespace(){
+        while ( position < source.length() && Character.isWhitespace(peek()) ){
+            position++;
+        }
+        return position < source.length();
+    }
+    private static boolean isDigit(char c){
+        return c >= '0' && c <= '9';
+    }
+    private char peek(){
+        return source.charAt(position);
+    }
+    private IllegalArgumentException error(String message){
+        return new IllegalArgumentException(message + " at position " + position);
+    }
+    private static Function[] nodes(List<Term> terms){
+        Function[] nodes = new Function[terms.size()];
+        for ( int i = 0 ; i < nodes.length ; i++ ){
+            nodes[i] = terms.get(i).toFunction();
+        }
+        return nodes;
+    }
+
+    /**
+     * A parsed operand, either a node or a monomial coefficient * x^exponent
+     * that can still be merged into a Polynomial.
+     */
+    private static final class Term {
+        final Function node;
+        final double coefficient;
+        final int exponent;
+
+        private Term(Function node, double coefficient, int exponent){
+            this.node = node;
+            this.coefficient = coefficient;
+            this.exponent = exponent;
+        }
+        static Term node(Function node){
+            return new Term(node, 0, 0);
+        }
+        static Term monomial(double coefficient, int exponent){
+            return new Term(null, coefficient, exponent);
+        }
+        /**
+         * Multiplies two monomials.
+         * @param other the other factor
+         * @return the product, or null if one of the factors is a node
+         */
+        Term times(Term other){
+            if ( node != null || other.node != null || exponent + other.exponent > MAX_POLYNOMIAL_DEGREE )
+                return null;
+            return monomial(coefficient * other.coefficient, exponent + other.exponent);
+        }
+        Function toFunction(){
+            if ( node != null )
+                return node;
+            if ( exponent == 0 )
+                return new Constant(coefficient);
+            double[] coefficients = new double[exponent + 1];
+            coefficients[exponent] = coefficient;
+            return new Polynomial(coefficients);
+        }
+    }
+}
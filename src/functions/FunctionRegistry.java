@@ -0,0 +1,111 @@
+package functions;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The FunctionRegistry class maps names to functions that are ready to be evaluated,
+ * so that many threads can share them without copying or synchronizing.
+ * A function is prepared once when it is registered: it is interned, if the registry has an interner,
+ * so that equal subtrees of all registered functions are one node, and then compiled.
+ * Lookups are lock-free reads of a ConcurrentHashMap, and registration publishes the prepared
+ * function with one atomic putIfAbsent, which also makes it safely visible to every thread
+ * that finds it. Functions are immutable, so the threads can then evaluate them concurrently.
+ */
+public final class FunctionRegistry {
+    private final ConcurrentMap<String, Function> functions = new ConcurrentHashMap<>();
+    private final Interner interner;
+
+    /**
+     * Constructs an empty registry that compiles the functions it registers.
+     */
+    public FunctionRegistry(){
+        this(null);
+    }
+    /**
+     * Constructs an empty registry that interns the functions it registers before compiling them.
+     * Interning takes the lock of the interner, lookups stay lock-free.
+     * @param interner the interner, or null to compile the functions as they are
+     */
+    public FunctionRegistry(Interner interner){
+        this.interner = interner;
+    }
+
+    /**
+     * Registers a function under a name, unless another function was registered under it first.
+     * @param name the name of the function
+     * @param function the function to register
+     * @return the function registered under the name, the prepared function or the one that was there before
+     * @throws NullPointerException if the name or the function is null
+     */
+    public Function register(String name, Function function){
+        Function registered = functions.get(name);
+        if ( registered != null )
+            return registered;
+        Function prepared = prepare(function);
+        registered = functions.putIfAbsent(name, prepared);
+        return registered != null ? registered : prepared;
+    }
+    /**
+     * Registers a function under a name, replacing the function registered under it before.
+     * @param name the name of the function
+     * @param function the function to register
+     * @return the function registered under the name before, or null if there was none
+     * @throws NullPointerException if the name or the function is null
+     */
+    public Function replace(String name, Function function){
+        return functions.put(name, prepare(function));
+    }
+    /**
+     * Returns the function registered under a name, preparing and registering the function
+     * made by the factory if there is none. When several threads miss the same name at the same time,
+     * each may run the factory, and all of them get the function registered first.
+     * @param name the name of the function
+     * @param factory makes the function from the name, for example FunctionParser::parse
+     * @return the function registered under the name
+     */
+    public Function computeIfAbsent(String name, java.util.function.Function<String, ? extends Function> factory){
+        Function registered = functions.get(name);
+        if ( registered != null )
+            return registered;
+        return register(name, factory.apply(name));
+    }
+    /**
+     * Returns the function registered under a name.
+     * @param name the name of the function
+     * @return the prepared function, or null if no function is registered under the name
+     */
+    public Function get(String name){
+        return functions.get(name);
+    }
+    /**
+     * Removes the function registered under a name. Threads that already got it can keep using it.
+     * @param name the name of the function
+     * @return the removed function, or null if no function was registered under the name
+     */
+    public Function remove(String name){
+        return functions.remove(name);
+    }
+    /**
+     * Returns the names of the registered functions.
+     * @return an unmodifiable view of the names, which reflects later registrations
+     */
+    public Set<String> names(){
+        return Collections.unmodifiableSet(functions.keySet());
+    }
+    /**
+     * Returns the number of registered functions.
+     * @return the number of functions
+     */
+    public int size(){
+        return functions.size();
+    }
+
+    private Function prepare(Function function){
+        if ( function == null )
+            throw new NullPointerException("function");
+        return (interner == null ? function : interner.intern(function)).compile();
+    }
+}
@@ -0,0 +1,202 @@
+package functions;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * The GradientEvaluator class computes gradients of functions of several variables
+ * at a fixed point by reverse-mode automatic differentiation.
+ * The forward sweep emits every distinct node once and records each operation as a slot
+ * holding its value, its operand slots and the partial derivatives of the value by its operands.
+ * The backward sweep walks the slots from the result down, accumulating the derivative
+ * of the result by every slot, and adds the derivatives of the variable slots into the gradient.
+ * Slots are kept between calls, so the gradients of several functions share their forward sweep.
+ */
+final class GradientEvaluator extends Emitter {
+    private final double[] point;
+    private final Map<Function, Integer> slotsOf = new IdentityHashMap<>();
+    private double[] values = new double[64];
+    private int[] firstOperands = new int[64];
+    private int[] secondOperands = new int[64];
+    private double[] firstPartials = new double[64];
+    private double[] secondPartials = new double[64];
+    private int[] variables = new int[64];
+    private boolean[] constants = new boolean[64];
+    private int slots;
+    private int[] stack = new int[16];
+    private int top;
+    private int[] locals = new int[16];
+    private int nextLocal;
+
+    /**
+     * Constructs a GradientEvaluator for the specified point.
+     * @param point the values of the variables x_0, x_1, ...
+     */
+    GradientEvaluator(double[] point){
+        this.point = point;
+    }
+
+    /**
+     * Returns the gradient of the function at the point of this evaluator.
+     * @param function the function to differentiate
+     * @return a new array holding the partial derivative by every variable of the point
+     */
+    double[] gradientOf(Function function){
+        emit(function);
+        int result = stack[--top];
+        double[] gradient = new double[point.length];
+        double[] adjoints = new double[result + 1];
+        adjoints[result] = 1;
+        for ( int s = result ; s >= 0 ; s-- ){
+            double adjoint = adjoints[s];
+            if ( adjoint == 0 || constants[s] )
+                continue;
+            if ( variables[s] >= 0 )
+                gradient[variables[s]] += adjoint;
+            if ( firstOperands[s] >= 0 )
+                adjoints[firstOperands[s]] += adjoint * firstPartials[s];
+            if ( secondOperands[s] >= 0 )
+                adjoints[secondOperands[s]] += adjoint * secondPartials[s];
+        }
+        return gradient;
+    }
+
+    @Override
+    void emit(Function function){
+        Integer slot = slotsOf.get(function);
+        if ( slot != null ){
+            push(slot);
+            return;
+        }
+        int firstLocal = nextLocal;
+        function.compileTo(this);
+        nextLocal = firstLocal;
+        slotsOf.put(function, stack[top - 1]);
+    }
+    /**
+     * Records a node the evaluator has no rules for as a function of x_0,
+     * differentiated with valueAndDerivativeAt.
+     * @param function the node to evaluate
+     */
+    @Override
+    void fallback(Function function){
+        double[] valueAndDerivative = function.valueAndDerivativeAt(point[0]);
+        variable();
+        int x = stack[--top];
+        push(record(valueAndDerivative[0], x, valueAndDerivative[1], -1, 0));
+    }
+    @Override
+    void constant(double value){
+        int slot = record(value, -1, 0, -1, 0);
+        constants[slot] = true;
+        push(slot);
+    }
+    @Override
+    void variable(){
+        variable(0);
+    }
+    @Override
+    void variable(Variable variable){
+        variable(variable.getIndex());
+    }
+    private void variable(int index){
+        if ( index >= point.length )
+            throw new IllegalArgumentException("x_" + index + " is not a variable of a point of " + point.length + " variables");
+        int slot = record(point[index], -1, 0, -1, 0);
+        variables[slot] = index;
+        push(slot);
+    }
+    @Override
+    void add(){
+        int b = stack[--top];
+        int a = stack[--top];
+        push(record(values[a] + values[b], a, 1, b, 1));
+    }
+    @Override
+    void subtract(){
+        int b = stack[--top];
+        int a = stack[--top];
+        push(record(values[a] - values[b], a, 1, b, -1));
+    }
+    @Override
+    void multiply(){
+        int b = stack[--top];
+        int a = stack[--top];
+        push(record(values[a] * values[b], a, values[b], b, values[a]));
+    }
+    @Override
+    void divide(){
+        int b = stack[--top];
+        int a = stack[--top];
+        double quotient = values[a] / values[b];
+        push(record(quotient, a, 1 / values[b], b, -quotient / values[b]));
+    }
+    @Override
+    void negate(){
+        int a = stack[--top];
+        push(record(-values[a], a, -1, -1, 0));
+    }
+    /**
+     * Records a^b. The partial by the exponent, b log a, is only taken when the exponent
+     * depends on a variable, so constant exponents of negative bases stay finite.
+     */
+    @Override
+    void pow(){
+        int b = stack[--top];
+        int a = stack[--top];
+        double base = values[a];
+        double exponent = values[b];
+        double power = Math.pow(base, exponent);
+        double byBase = exponent == 0 ? 0 : exponent * Math.pow(base, exponent - 1);
+        double byExponent = constants[b] ? 0 : power * Math.log(base);
+        push(record(power, a, byBase, b, byExponent));
+    }
+    /**
+     * Records the q-th root of a, whose partial by a is root / (q a). The order q is a constant.
+     */
+    @Override
+    void root(){
+        int b = stack[--top];
+        int a = stack[--top];
+        double root = RationalPower.root(values[a], values[b]);
+        push(record(root, a, root / (values[b] * values[a]), -1, 0));
+    }
+    @Override
+    int store(){
+        if ( nextLocal == locals.length )
+            locals = Arrays.copyOf(locals, nextLocal * 2);
+        locals[nextLocal] = stack[--top];
+        return nextLocal++;
+    }
+    @Override
+    void load(int local){
+        push(locals[local]);
+    }
+
+    private int record(double value, int first, double firstPartial, int second, double secondPartial){
+        if ( slots == values.length ){
+            int length = slots * 2;
+            values = Arrays.copyOf(values, length);
+            firstOperands = Arrays.copyOf(firstOperands, length);
+            secondOperands = Arrays.copyOf(secondOperands, length);
+            firstPartials = Arrays.copyOf(firstPartials, length);
+            secondPartials = Arrays.copyOf(secondPartials, length);
+            variables = Arrays.copyOf(variables, length);
+            constants = Arrays.copyOf(constants, length);
+        }
+        values[slots] = value;
+        firstOperands[slots] = first;
+        firstPartials[slots] = firstPartial;
+        secondOperands[slots] = second;
+        secondPartials[slots] = secondPartial;
+        variables[slots] = -1;
+        constants[slots] = (first < 0 || constants[first]) && (second < 0 || constants[second]) && first >= 0;
+        return slots++;
+    }
+    private void push(int slot){
+        if ( top == stack.length )
+            stack = Arrays.copyOf(stack, top * 2);
+        stack[top++] = slot;
+    }
+}
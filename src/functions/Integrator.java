@@ -0,0 +1,339 @@
+package functions;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * The Integrator class computes definite integrals of a function.
+ * Polynomials and constants, and compiled functions of them, are integrated exactly through
+ * their antiderivative. Other functions are integrated by globally adaptive Gauss-Kronrod
+ * quadrature: every subinterval is integrated with the 15 point Kronrod rule, and the
+ * difference to the embedded 7 point Gauss rule estimates the error, as in QUADPACK's QAG.
+ * In every round, all subintervals whose error exceeds their share of the tolerance are halved,
+ * and the new halves are evaluated in chunks with the block valueAt, in parallel on a ForkJoinPool.
+ * Every subinterval is computed the same way whatever the number of threads,
+ * so the result does not depend on it.
+ * Every integration returns a Result with the integral, the error estimate,
+ * the number of subintervals and evaluations and whether the tolerance was reached.
+ */
+public class Integrator {
+    /**
+     * The nodes of the 15 point Kronrod rule on [-1, 1], the nodes at odd indices
+     * are the nodes of the 7 point Gauss rule. The last node is 0, the others appear with both signs.
+     */
+    private static final double[] KRONROD_NODES = {
+            0.991455371120812639206854697526329, 0.949107912342758524526189684047851,
+            0.864864423359769072789712788640926, 0.741531185599394439863864773280788,
+            0.586087235467691130294144845693013, 0.405845151377397166906606412076961,
+            0.207784955007898467600689403773245, 0.0 };
+    private static final double[] KRONROD_WEIGHTS = {
+            0.022935322010529224963732008058970, 0.063092092629978553290700663189204,
+            0.104790010322250183839876322541518, 0.140653259715525918745189590510238,
+            0.169004726639267902826583426598550, 0.190350578064785409913256402421014,
+            0.204432940075298892414161999234649, 0.209482141084727828012999174891714 };
+    /**
+     * The weights of the 7 point Gauss rule, for the nodes at indices 1, 3, 5 and 7 of KRONROD_NODES.
+     */
+    private static final double[] GAUSS_WEIGHTS = {
+            0.129484966168869693270611432679082, 0.279705391489276667901467771423780,
+            0.381830050505118944950369775488975, 0.417959183673469387755102040816327 };
+    private static final int POINTS = 15;
+    /**
+     * The number of subintervals whose nodes are evaluated as one block by one task,
+     * 3840 points, about the chunk size of Function.evaluateAll.
+     */
+    private static final int CHUNK_SIZE = 256;
+    private static final double MACHINE_EPSILON = Math.ulp(1.0);
+
+    private final Function function;
+    private final double epsilon;
+    private final int maxSubintervals;
+
+    /**
+     * Constructs an Integrator for the specified function with a precision of 10^-10
+     * and at most Function.DEFAULT_MAX_ITERATIONS subintervals.
+     * @param function the function to integrate
+     */
+    public Integrator(Function function){
+        this(function, Math.pow(10.0, -10.0), Function.DEFAULT_MAX_ITERATIONS);
+    }
+
+    /**
+     * Constructs an Integrator for the specified function.
+     * The integration stops when the error estimate is at most epsilon times the absolute value
+     * of the integral, or epsilon where the integral is smaller than 1.
+     * @param function the function to integrate
+     * @param epsilon the desired precision of the integrals
+     * @param maxSubintervals the largest number of subintervals of one integration
+     */
+    public Integrator(Function function, double epsilon, int maxSubintervals){
+        this.function = function;
+        this.epsilon = epsilon;
+        this.maxSubintervals = maxSubintervals;
+    }
+
+    /**
+     * Integrates the function from a to b, on the common ForkJoinPool.
+     * @param a the lower limit of integration
+     * @param b the upper limit of integration, which may be smaller than a
+     * @return the result
+     * @throws IllegalArgumentException if a limit is infinite or NaN
+     */
+    public Result integrate(double a, double b){
+        return integrate(a, b, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Integrates the function from a to b, evaluating the subintervals on the given ForkJoinPool.
+     * @param a the lower limit of integration
+     * @param b the upper limit of integration, which may be smaller than a
+     * @param pool the pool to run on
+     * @return the result
+     * @throws IllegalArgumentException if a limit is infinite or NaN
+     */
+    public Result integrate(double a, double b, ForkJoinPool pool){
+        if ( !Double.isFinite(a) || !Double.isFinite(b) )
+            throw new IllegalArgumentException("not a finite interval: [" + a + ", " + b + "]");
+        if ( a > b ){
+            Result result = integrate(b, a, pool);
+            return new Result(-result.value, result.errorEstimate, result.subintervals, result.evaluations, result.converged);
+        }
+        if ( a == b )
+            return new Result(0, 0, 0, 0, true);
+        Function antiderivative = function.antiderivative();
+        if ( antiderivative != null )
+            return new Result(antiderivative.valueAt(b) - antiderivative.valueAt(a), 0, 1, 2, true);
+
+        Subintervals intervals = new Subintervals(maxSubintervals);
+        intervals.add(a, b);
+        intervals.evaluate(0, 1, pool);
+        while ( true ){
+            double value = intervals.sum(intervals.values);
+            double error = intervals.sum(intervals.errors);
+            double allowed = epsilon * (Double.isFinite(value) ? Math.max(1, Math.abs(value)) : 1);
+            if ( error <= allowed && Double.isFinite(value) )
+                return intervals.result(value, error, true);
+            int[] selected = intervals.select(allowed / (b - a), maxSubintervals - intervals.count);
+            if ( selected.length == 0 )
+                return intervals.result(value, error, false);
+            int first = intervals.count;
+            for ( int i : selected ){
+                double mid = 0.5 * (intervals.lows[i] + intervals.highs[i]);
+                intervals.add(mid, intervals.highs[i]);
+                intervals.highs[i] = mid;
+            }
+            for ( int i : selected ){
+                intervals.add(intervals.lows[i], intervals.highs[i]);
+            }
+            intervals.evaluate(first, intervals.count, pool);
+            for ( int j = 0 ; j < selected.length ; j++ ){
+                intervals.move(first + selected.length + j, selected[j]);
+            }
+            intervals.count -= selected.length;
+        }
+    }
+
+    /**
+     * The Subintervals class holds the subintervals of one integration with their integrals and error estimates.
+     */
+    private final class Subintervals {
+        double[] lows;
+        double[] highs;
+        double[] values;
+        double[] errors;
+        int count;
+        int evaluations;
+
+        Subintervals(int maxSubintervals){
+            int capacity = Math.max(2, Math.min(maxSubintervals, 64)) * 2;
+            lows = new double[capacity];
+            highs = new double[capacity];
+            values = new double[capacity];
+            errors = new double[capacity];
+        }
+
+        void add(double low, double high){
+            if ( count == lows.length ){
+                lows = Arrays.copyOf(lows, 2 * count);
+                highs = Arrays.copyOf(highs, 2 * count);
+                values = Arrays.copyOf(values, 2 * count);
+                errors = Arrays.copyOf(errors, 2 * count);
+            }
+            lows[count] = low;
+            highs[count] = high;
+            count++;
+        }
+        void move(int from, int to){
+            lows[to] = lows[from];
+            highs[to] = highs[from];
+            values[to] = values[from];
+            errors[to] = errors[from];
+        }
+        double sum(double[] array){
+            double sum = 0;
+            for ( int i = 0 ; i < count ; i++ ){
+                sum += array[i];
+            }
+            return sum;
+        }
+        /**
+         * Selects the subintervals whose error exceeds their share of the allowed error,
+         * the worst ones first if there is no room for all of them.
+         * Subintervals too narrow to be halved are never selected.
+         * @param allowedPerLength the allowed error divided by the length of [a, b]
+         * @param room the number of subintervals that may still be added
+         * @return the indices of the selected subintervals, in increasing order
+         */
+        int[] select(double allowedPerLength, int room){
+            int[] selected = new int[count];
+            int n = 0;
+            for ( int i = 0 ; i < count ; i++ ){
+                double mid = 0.5 * (lows[i] + highs[i]);
+                if ( errors[i] > allowedPerLength * (highs[i] - lows[i]) && mid > lows[i] && mid < highs[i] )
+                    selected[n++] = i;
+            }
+            if ( n > room ){
+                Integer[] order = new Integer[n];
+                for ( int j = 0 ; j < n ; j++ ){
+                    order[j] = selected[j];
+                }
+                Arrays.sort(order, (i, j) -> Double.compare(errors[j], errors[i]));
+                n = Math.max(room, 0);
+                for ( int j = 0 ; j < n ; j++ ){
+                    selected[j] = order[j];
+                }
+                Arrays.sort(selected, 0, n);
+            }
+            return Arrays.copyOf(selected, n);
+        }
+        /**
+         * Integrates the subintervals from index from to index to, in chunks that run in parallel
+         * when there is more than one.
+         */
+        void evaluate(int from, int to, ForkJoinPool pool){
+            int chunks = (to - from + CHUNK_SIZE - 1) / CHUNK_SIZE;
+            if ( chunks == 1 )
+                evaluateChunk(from, to);
+            else
+                pool.submit(() -> IntStream.range(0, chunks).parallel()
+                        .forEach(chunk -> evaluateChunk(from + chunk * CHUNK_SIZE, Math.min(from + (chunk + 1) * CHUNK_SIZE, to)))).join();
+            evaluations += POINTS * (to - from);
+        }
+        private void evaluateChunk(int from, int to){
+            int n = to - from;
+            double[] xs = new double[POINTS * n];
+            double[] fs = new double[POINTS * n];
+            for ( int i = 0 ; i < n ; i++ ){
+                double center = 0.5 * (lows[from + i] + highs[from + i]);
+                double halfLength = 0.5 * (highs[from + i] - lows[from + i]);
+                int offset = POINTS * i;
+                xs[offset] = center;
+                for ( int j = 0 ; j < 7 ; j++ ){
+                    xs[offset + 1 + j] = center - halfLength * KRONROD_NODES[j];
+                    xs[offset + 8 + j] = center + halfLength * KRONROD_NODES[j];
+                }
+            }
+            function.valueAt(xs, fs);
+            for ( int i = 0 ; i < n ; i++ ){
+                kronrod(from + i, fs, POINTS * i);
+            }
+        }
+        /**
+         * Computes the integral and the error estimate of a subinterval from the values at its nodes,
+         * the error estimate being scaled as in QUADPACK's QK15.
+         */
+        private void kronrod(int index, double[] fs, int offset){
+            double halfLength = 0.5 * (highs[index] - lows[index]);
+            double center = fs[offset];
+            double kronrod = KRONROD_WEIGHTS[7] * center;
+            double gauss = GAUSS_WEIGHTS[3] * center;
+            double absolute = Math.abs(kronrod);
+            for ( int j = 0 ; j < 7 ; j++ ){
+                double left = fs[offset + 1 + j];
+                double right = fs[offset + 8 + j];
+                kronrod += KRONROD_WEIGHTS[j] * (left + right);
+                absolute += KRONROD_WEIGHTS[j] * (Math.abs(left) + Math.abs(right));
+                if ( j % 2 == 1 )
+                    gauss += GAUSS_WEIGHTS[j / 2] * (left + right);
+            }
+            double mean = 0.5 * kronrod;
+            double deviation = KRONROD_WEIGHTS[7] * Math.abs(center - mean);
+            for ( int j = 0 ; j < 7 ; j++ ){
+                deviation += KRONROD_WEIGHTS[j] * (Math.abs(fs[offset + 1 + j] - mean) + Math.abs(fs[offset + 8 + j] - mean));
+            }
+            absolute *= halfLength;
+            deviation *= halfLength;
+            double error = Math.abs((kronrod - gauss) * halfLength);
+            if ( deviation != 0 && error != 0 )
+                error = deviation * Math.min(1, Math.pow(200 * error / deviation, 1.5));
+            if ( absolute > Double.MIN_NORMAL / (50 * MACHINE_EPSILON) )
+                error = Math.max(50 * MACHINE_EPSILON * absolute, error);
+            values[index] = kronrod * halfLength;
+            errors[index] = Double.isNaN(error) ? Double.POSITIVE_INFINITY : error;
+        }
+        Result result(double value, double error, boolean converged){
+            return new Result(value, error, count, evaluations, converged);
+        }
+    }
+
+    /**
+     * The Result class holds the outcome of an integration.
+     */
+    public static final class Result {
+        private final double value;
+        private final double errorEstimate;
+        private final int subintervals;
+        private final int evaluations;
+        private final boolean converged;
+
+        Result(double value, double errorEstimate, int subintervals, int evaluations, boolean converged){
+            this.value = value;
+            this.errorEstimate = errorEstimate;
+            this.subintervals = subintervals;
+            this.evaluations = evaluations;
+            this.converged = converged;
+        }
+        /**
+         * Returns the approximated integral.
+         * @return the integral
+         */
+        public double getValue(){
+            return value;
+        }
+        /**
+         * Returns the estimated absolute error of the integral, 0 for an integral computed
+         * exactly from an antiderivative, which is only subject to rounding.
+         * @return the error estimate
+         */
+        public double getErrorEstimate(){
+            return errorEstimate;
+        }
+        /**
+         * Returns the number of subintervals the interval was split into.
+         * @return the number of subintervals
+         */
+        public int getSubintervals(){
+            return subintervals;
+        }
+        /**
+         * Returns the number of times the function was evaluated.
+         * @return the number of evaluations
+         */
+        public int getEvaluations(){
+            return evaluations;
+        }
+        /**
+         * Tells whether the error estimate reached the desired precision.
+         * @return true if the integration converged
+         */
+        public boolean isConverged(){
+            return converged;
+        }
+        @Override
+        public String toString(){
+            return value + " (error " + errorEstimate + ", " + subintervals + " subintervals, "
+                    + evaluations + " evaluations" + (converged ? ")" : ", not converged)");
+        }
+    }
+}
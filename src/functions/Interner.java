@@ -0,0 +1,152 @@
+package functions;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * The Interner class hash-conses functions: structurally equal nodes are replaced by one canonical instance.
+ * Derivatives and simplifications of canonical nodes are memoized, and while one is computed
+ * those of its subfunctions come from the same memo. This turns the tower of repeated derivatives,
+ * which grows exponentially as a tree, into a DAG of shared nodes.
+ * The valueAt of a DAG still walks a shared node once for every reference to it; to evaluate
+ * every distinct node once per point, lower the function into a SlotProgram with
+ * Function.eliminateCommonSubexpressions().
+ * Two nodes are equal when they have the same class, the same data and the same canonical subfunctions.
+ * An interner keeps every node it has seen alive, the functions passed to it as well as their
+ * canonical instances, until the interner itself is dropped, and its methods lock the interner.
+ * There is no process-wide interner: create one per batch of related functions, for example one
+ * per FunctionRegistry, and let it go with them.
+ */
+public class Interner {
+    private static final ThreadLocal<Interner> ACTIVE = new ThreadLocal<>();
+
+    private final Map<Key, Function> canonical = new HashMap<>();
+    private final Map<Function, Function> interned = new IdentityHashMap<>();
+    private final Map<Function, Function> derivatives = new IdentityHashMap<>();
+    private final Map<Function, Function> simplifications = new IdentityHashMap<>();
+
+    /**
+     * Returns the interner computing a derivative on the current thread.
+     * @return the active interner, or null if there is none
+     */
+    static Interner active(){
+        return ACTIVE.get();
+    }
+
+    /**
+     * Returns the canonical instance of the function, interning its subfunctions first.
+     * @param function the function to intern
+     * @return the canonical instance of the function
+     */
+    public synchronized Function intern(Function function){
+        Function result = interned.get(function);
+        if ( result != null )
+            return result;
+        Function[] children = function.children();
+        boolean changed = false;
+        for ( int i = 0 ; i < children.length ; i++ ){
+            Function child = intern(children[i]);
+            changed |= child != children[i];
+            children[i] = child;
+        }
+        Function node = changed ? function.withChildren(children) : function;
+        result = canonical.putIfAbsent(new Key(node, children), node);
+        if ( result == null )
+            result = node;
+        interned.put(function, result);
+        interned.put(result, result);
+        return result;
+    }
+    /**
+     * Returns the canonical derivative of the function, computing it only the first time.
+     * @param function the function to differentiate
+     * @return the canonical derivative of the function
+     */
+    public synchronized Function derivative(Function function){
+        Function canonicalFunction = intern(function);
+        Function result = derivatives.get(canonicalFunction);
+        if ( result != null )
+            return result;
+        result = intern(whileActive(canonicalFunction::derivative));
+        derivatives.put(canonicalFunction, result);
+        return result;
+    }
+    /**
+     * Returns the canonical simplified version of the function, simplifying it only the first time.
+     * @param function the function to simplify
+     * @return the canonical simplified function
+     */
+    public synchronized Function simplify(Function function){
+        Function canonicalFunction = intern(function);
+        Function result = simplifications.get(canonicalFunction);
+        if ( result != null )
+            return result;
+        result = intern(whileActive(canonicalFunction::simplify));
+        simplifications.put(canonicalFunction, result);
+        simplifications.put(result, result);
+        return result;
+    }
+    /**
+     * Runs an operation with this interner as the active interner of the current thread,
+     * so that derivativeOf and simplifiedOf use its memos.
+     * @param operation the operation to run
+     * @return the result of the operation
+     */
+    private Function whileActive(Supplier<Function> operation){
+        Interner previous = ACTIVE.get();
+        ACTIVE.set(this);
+        try {
+            return operation.get();
+        } finally {
+            if ( previous == null )
+                ACTIVE.remove();
+            else
+                ACTIVE.set(previous);
+        }
+    }
+    /**
+     * Returns the number of canonical nodes.
+     * @return the number of distinct nodes interned so far
+     */
+    public synchronized int size(){
+        return canonical.size();
+    }
+
+    /**
+     * A node compared by class, data and the identity of its canonical subfunctions.
+     */
+    private static final class Key {
+        private final Function node;
+        private final Function[] children;
+        private final int hash;
+
+        Key(Function node, Function[] children){
+            this.node = node;
+            this.children = children;
+            int hash = node.getClass().hashCode() * 31 + node.dataHash();
+            for ( Function child : children ){
+                hash = hash * 31 + System.identityHashCode(child);
+            }
+            this.hash = hash;
+        }
+        @Override
+        public boolean equals(Object o){
+            if ( !(o instanceof Key) )
+                return false;
+            Key other = (Key) o;
+            if ( hash != other.hash || node.getClass() != other.node.getClass() || children.length != other.children.length )
+                return false;
+            for ( int i = 0 ; i < children.length ; i++ ){
+                if ( children[i] != other.children[i] )
+                    return false;
+            }
+            return node.sameData(other.node);
+        }
+        @Override
+        public int hashCode(){
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package functions;
+
+/**
+ * Represents a closed interval of real numbers, possibly unbounded, for interval arithmetic.
+ * Every operation returns an interval that contains the result of the operation on every pair
+ * of points of its operands: endpoints are rounded outwards, so rounding errors never
+ * make the result too narrow. The result may be wider than the exact range.
+ * Intervals are immutable.
+ */
+public final class Interval {
+    /**
+     * The whole real line, the range of anything that cannot be bounded better.
+     */
+    public static final Interval ENTIRE = new Interval(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+    private static final Interval ONE = new Interval(1, 1);
+
+    private final double lower;
+    private final double upper;
+
+    /**
+     * Constructs the interval [lower, upper].
+     * @param lower the lower endpoint
+     * @param upper the upper endpoint
+     * @throws IllegalArgumentException if an endpoint is NaN or lower is larger than upper
+     */
+    public Interval(double lower, double upper){
+        if ( !(lower <= upper) )
+            throw new IllegalArgumentException("not an interval: [" + lower + ", " + upper + "]");
+        this.lower = lower;
+        this.upper = upper;
+    }
+
+    /**
+     * Returns the interval holding a single number.
+     * @param value the number
+     * @return the interval [value, value], or the whole real line if the value is NaN
+     */
+    static Interval point(double value){
+        return Double.isNaN(value) ? ENTIRE : new Interval(value, value);
+    }
+    /**
+     * Returns the interval between two computed endpoints widened by one ulp on both sides,
+     * or the whole real line if an endpoint is NaN.
+     */
+    private static Interval rounded(double lower, double upper){
+        if ( Double.isNaN(lower) || Double.isNaN(upper) )
+            return ENTIRE;
+        return new Interval(Math.nextDown(lower), Math.nextUp(upper));
+    }
+
+    /**
+     * Returns the lower endpoint.
+     * @return the lower endpoint
+     */
+    public double getLower(){
+        return lower;
+    }
+    /**
+     * Returns the upper endpoint.
+     * @return the upper endpoint
+     */
+    public double getUpper(){
+        return upper;
+    }
+    /**
+     * Tells whether the interval contains a number.
+     * @param x the number
+     * @return true if lower <= x <= upper
+     */
+    public boolean contains(double x){
+        return lower <= x && x <= upper;
+    }
+    /**
+     * Returns the sum of two intervals.
+     * @param other the other interval
+     * @return an interval containing every a + b
+     */
+    public Interval add(Interval other){
+        return rounded(lower + other.lower, upper + other.upper);
+    }
+    /**
+     * Returns the difference of two intervals.
+     * @param other the interval to subtract
+     * @return an interval containing every a - b
+     */
+    public Interval subtract(Interval other){
+        return rounded(lower - other.upper, upper - other.lower);
+    }
+    /**
+     * Returns the negated interval, which is exact.
+     * @return the interval [-upper, -lower]
+     */
+    public Interval negate(){
+        return new Interval(-upper, -lower);
+    }
+    /**
+     * Returns the product of two intervals. An infinite endpoint times 0 counts as 0.
+     * @param other the other interval
+     * @return an interval containing every a * b
+     */
+    public Interval multiply(Interval other){
+        double p1 = product(lower, other.lower);
+        double p2 = product(lower, other.upper);
+        double p3 = product(upper, other.lower);
+        double p4 = product(upper, other.upper);
+        return rounded(Math.min(Math.min(p1, p2), Math.min(p3, p4)), Math.max(Math.max(p1, p2), Math.max(p3, p4)));
+    }
+    private static double product(double a, double b){
+        return a == 0 || b == 0 ? 0 : a * b;
+    }
+    /**
+     * Returns the quotient of two intervals. When the divisor contains 0 the quotient is unbounded:
+     * it is a half line if the divisor has 0 as an endpoint and the dividend does not contain 0,
+     * and the whole real line otherwise.
+     * @param other the divisor
+     * @return an interval containing every a / b with b != 0
+     */
+    public Interval divide(Interval other){
+        if ( !other.contains(0) ){
+            double q1 = lower / other.lower;
+            double q2 = lower / other.upper;
+            double q3 = upper / other.lower;
+            double q4 = upper / other.upper;
+            return rounded(Math.min(Math.min(q1, q2), Math.min(q3, q4)), Math.max(Math.max(q1, q2), Math.max(q3, q4)));
+        }
+        if ( contains(0) || (other.lower < 0 && other.upper > 0) || (other.lower == 0 && other.upper == 0) )
+            return ENTIRE;
+        if ( upper < 0 ){
+            if ( other.lower == 0 )
+                return new Interval(Double.NEGATIVE_INFINITY, Math.nextUp(upper / other.upper));
+            return new Interval(Math.nextDown(upper / other.lower), Double.POSITIVE_INFINITY);
+        }
+        if ( other.lower == 0 )
+            return new Interval(Math.nextDown(lower / other.upper), Double.POSITIVE_INFINITY);
+        return new Interval(Double.NEGATIVE_INFINITY, Math.nextUp(lower / other.lower));
+    }
+    /**
+     * Returns the interval raised to an integer power. Even powers of an interval containing 0
+     * start at 0, odd powers are increasing, and negative powers are 1 divided by the positive power.
+     * @param exponent the exponent
+     * @return an interval containing every a^exponent
+     */
+    public Interval pow(int exponent){
+        if ( exponent == 0 )
+            return ONE;
+        if ( exponent < 0 )
+            return ONE.divide(pow(-(long) exponent));
+        return pow((long) exponent);
+    }
+    private Interval pow(long exponent){
+        if ( exponent % 2 == 1 )
+            return rounded(Math.pow(lower, exponent), Math.pow(upper, exponent));
+        double low = Math.pow(Math.abs(lower), exponent);
+        double high = Math.pow(Math.abs(upper), exponent);
+        if ( contains(0) )
+            return new Interval(0, Math.nextUp(Math.max(low, high)));
+        return rounded(Math.min(low, high), Math.max(low, high)).nonNegative();
+    }
+    private Interval nonNegative(){
+        return lower >= 0 ? this : new Interval(0, upper);
+    }
+    /**
+     * Returns the intersection of two intervals, used to combine two enclosures of the same range.
+     * @param other the other interval
+     * @return the intersection, or this interval if the intervals do not overlap
+     */
+    public Interval intersect(Interval other){
+        double low = Math.max(lower, other.lower);
+        double high = Math.min(upper, other.upper);
+        return low <= high ? new Interval(low, high) : this;
+    }
+    /**
+     * Returns the smallest interval containing both intervals.
+     * @param other the other interval
+     * @return the hull of the two intervals
+     */
+    public Interval hull(Interval other){
+        return new Interval(Math.min(lower, other.lower), Math.max(upper, other.upper));
+    }
+    /**
+     * Returns a string representation of the interval.
+     * @return the interval in the format "[lower, upper]"
+     */
+    @Override
+    public String toString(){
+        return "[" + lower + ", " + upper + "]";
+    }
+}
@@ -0,0 +1,262 @@
+package functions;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * The JetEvaluator class computes truncated Taylor series of functions around a fixed point,
+ * which is forward-mode automatic differentiation: the value and the derivatives come out of
+ * a single pass over the tree, without building derivative trees for the nodes that have compileTo.
+ * A series of order n holds the coefficients f(x), f'(x), f''(x)/2!, ..., f^(n)(x)/n!,
+ * and every operation on series costs at most O(n^2). Order 1 is plain dual-number arithmetic.
+ * Every distinct node is evaluated once, and its value coefficient is computed
+ * with the same operations as valueAt. Polynomials are expanded by a Taylor shift
+ * instead of series arithmetic.
+ * A node without compileTo, such as a ChebyshevApproximation, goes through fallback, which
+ * builds its derivative trees up to the order and evaluates them on every call. That can cost
+ * far more than the rest of the pass: the derivative of a ChebyshevApproximation fits a new
+ * approximation every time.
+ */
+final class JetEvaluator extends Emitter {
+    private final double x;
+    private final int order;
+    private final Map<Function, double[]> values = new IdentityHashMap<>();
+    private double[][] stack = new double[16][];
+    private int top;
+    private double[][] locals = new double[16][];
+    private int nextLocal;
+
+    /**
+     * Constructs a JetEvaluator for the specified point and order.
+     * @param x the point the series are taken around
+     * @param order the highest derivative order, at least 0
+     */
+    JetEvaluator(double x, int order){
+        this.x = x;
+        this.order = order;
+    }
+
+    /**
+     * Returns the Taylor coefficients of the function around the point of this evaluator.
+     * @param function the function to expand
+     * @return a new array holding f^(k)(x)/k! for k = 0..order
+     */
+    double[] coefficientsAt(Function function){
+        emit(function);
+        return stack[--top].clone();
+    }
+
+    @Override
+    void emit(Function function){
+        double[] value = values.get(function);
+        if ( value != null ){
+            push(value);
+            return;
+        }
+        if ( function instanceof Polynomial ){
+            value = ((Polynomial) function).taylorCoefficientsAt(x, order);
+            push(value);
+            values.put(function, value);
+            return;
+        }
+        int firstLocal = nextLocal;
+        function.compileTo(this);
+        nextLocal = firstLocal;
+        values.put(function, stack[top - 1]);
+    }
+    /**
+     * Expands a node the evaluator has no rules for by building its derivative trees
+     * of order 1 to order and evaluating each of them at the point.
+     * @param function the node to expand
+     */
+    @Override
+    void fallback(Function function){
+        double[] series = new double[order + 1];
+        series[0] = function.valueAt(x);
+        Function derivative = function;
+        double factorial = 1;
+        for ( int k = 1 ; k <= order ; k++ ){
+            derivative = derivative.derivative();
+            factorial *= k;
+            series[k] = derivative.valueAt(x) / factorial;
+        }
+        push(series);
+    }
+    @Override
+    void constant(double value){
+        double[] series = new double[order + 1];
+        series[0] = value;
+        push(series);
+    }
+    @Override
+    void variable(){
+        double[] series = new double[order + 1];
+        series[0] = x;
+        if ( order > 0 )
+            series[1] = 1;
+        push(series);
+    }
+    @Override
+    void add(){
+        double[] b = stack[--top];
+        double[] a = stack[--top];
+        double[] c = new double[order + 1];
+        for ( int k = 0 ; k <= order ; k++ ){
+            c[k] = a[k] + b[k];
+        }
+        push(c);
+    }
+    @Override
+    void subtract(){
+        double[] b = stack[--top];
+        double[] a = stack[--top];
+        double[] c = new double[order + 1];
+        for ( int k = 0 ; k <= order ; k++ ){
+            c[k] = a[k] - b[k];
+        }
+        push(c);
+    }
+    @Override
+    void multiply(){
+        double[] b = stack[--top];
+        double[] a = stack[--top];
+        push(product(a, b));
+    }
+    @Override
+    void divide(){
+        double[] b = stack[--top];
+        double[] a = stack[--top];
+        double[] c = new double[order + 1];
+        for ( int k = 0 ; k <= order ; k++ ){
+            double sum = a[k];
+            for ( int j = 1 ; j <= k ; j++ ){
+                sum -= b[j] * c[k - j];
+            }
+            c[k] = sum / b[0];
+        }
+        push(c);
+    }
+    @Override
+    void negate(){
+        double[] a = stack[--top];
+        double[] c = new double[order + 1];
+        for ( int k = 0 ; k <= order ; k++ ){
+            c[k] = -a[k];
+        }
+        push(c);
+    }
+    /**
+     * Raises a series to a power. A constant exponent uses the recurrence of a^p, or repeated
+     * squaring when the base is 0 at the point and the exponent is a natural number.
+     * Other exponents go through exp(b log a).
+     */
+    @Override
+    void pow(){
+        double[] b = stack[--top];
+        double[] a = stack[--top];
+        double[] c;
+        if ( !isConstant(b) )
+            c = exp(product(b, log(a)));
+        else if ( a[0] == 0 && b[0] >= 0 && b[0] == Math.rint(b[0]) && b[0] <= Integer.MAX_VALUE )
+            c = power(a, (int) b[0]);
+        else
+            c = power(a, b[0], Math.pow(a[0], b[0]));
+        c[0] = Math.pow(a[0], b[0]);
+        push(c);
+    }
+    /**
+     * Takes the root of a series with the recurrence of a^(1/q), starting from the real root,
+     * so odd roots of negative values have real series. The order q is a constant.
+     */
+    @Override
+    void root(){
+        double[] b = stack[--top];
+        double[] a = stack[--top];
+        push(power(a, 1 / b[0], RationalPower.root(a[0], b[0])));
+    }
+    @Override
+    int store(){
+        if ( nextLocal == locals.length )
+            locals = Arrays.copyOf(locals, nextLocal * 2);
+        locals[nextLocal] = stack[--top];
+        return nextLocal++;
+    }
+    @Override
+    void load(int local){
+        push(locals[local]);
+    }
+
+    private void push(double[] series){
+        if ( top == stack.length )
+            stack = Arrays.copyOf(stack, top * 2);
+        stack[top++] = series;
+    }
+    private double[] product(double[] a, double[] b){
+        double[] c = new double[order + 1];
+        c[0] = a[0] * b[0];
+        for ( int k = 1 ; k <= order ; k++ ){
+            double sum = 0;
+            for ( int j = 0 ; j <= k ; j++ ){
+                sum += a[j] * b[k - j];
+            }
+            c[k] = sum;
+        }
+        return c;
+    }
+    private boolean isConstant(double[] a){
+        for ( int k = 1 ; k <= order ; k++ ){
+            if ( a[k] != 0 )
+                return false;
+        }
+        return true;
+    }
+    private double[] power(double[] a, double p, double value){
+        double[] c = new double[order + 1];
+        c[0] = value;
+        for ( int k = 1 ; k <= order ; k++ ){
+            double sum = 0;
+            for ( int j = 1 ; j <= k ; j++ ){
+                sum += (p * j - (k - j)) * a[j] * c[k - j];
+            }
+            c[k] = sum / (k * a[0]);
+        }
+        return c;
+    }
+    private double[] power(double[] a, int n){
+        double[] result = new double[order + 1];
+        result[0] = 1;
+        double[] square = a;
+        for ( ; n > 0 ; n >>= 1 ){
+            if ( (n & 1) != 0 )
+                result = product(result, square);
+            if ( n > 1 )
+                square = product(square, square);
+        }
+        return result;
+    }
+    private double[] log(double[] a){
+        double[] c = new double[order + 1];
+        c[0] = Math.log(a[0]);
+        for ( int k = 1 ; k <= order ; k++ ){
+            double sum = 0;
+            for ( int j = 1 ; j < k ; j++ ){
+                sum += j * c[j] * a[k - j];
+            }
+            c[k] = (a[k] - sum / k) / a[0];
+        }
+        return c;
+    }
+    private double[] exp(double[] a){
+        double[] c = new double[order + 1];
+        c[0] = Math.exp(a[0]);
+        for ( int k = 1 ; k <= order ; k++ ){
+            double sum = 0;
+            for ( int j = 1 ; j <= k ; j++ ){
+                sum += j * a[j] * c[k - j];
+            }
+            c[k] = sum / k;
+        }
+        return c;
+    }
+}
@@ -0,0 +1,775 @@
+package functions;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+public class Main {
+    private static Random rnd;
+
+    public static void main(String[] args) {
+        test();
+    }
+
+    /**
+     * Runs tests on various mathematical functions and operations,
+     * including constants, sums, products, differences,
+     * quotients, and polynomials. It also tests root-finding methods.
+     */
+    private static void test() {
+        rnd = new Random(42);
+
+        Function const1 = new Constant(12345);
+        testFunction(const1, "const1", 10);
+
+        Function const2 = new Constant(12.391709);
+        testFunction(const2, "const2", 10);
+
+        Function const3 = new Constant(-1709);
+
+        Function prod1 = new Product(
+                                     new Sum(
+                                             const1,
+                                             const2),
+                                     const3);
+        testFunction(prod1, "prod1", 10);
+
+        Function prod2 = new Product(
+                                    new Sum(
+                                            const1,
+                                            const2),
+                                    new Negation(
+                                            new Negation(
+                                                         const3)));
+        testFunction(prod2, "prod2", 10);
+
+        Function diff1 = new Difference(const1, const3);
+        testFunction(diff1, "diff1", 10);
+
+        Function quotient1 = new Quotient(
+                                          new Sum(
+                                                  new Difference(
+                                                          new Product(
+                                                                  const1,
+                                                                  const3),
+                                                          const2),
+                                                  new Polynomial(1, 0, 1)),
+                                          prod1);
+        testFunction(quotient1, "quotient1", 4);
+
+        Function multiSum1 = new MultiSum(
+                                    new Constant(21.03),
+                                    new Constant(3));
+        testFunction(multiSum1, "multiSum1", 10);
+
+        Function poly1 = new Polynomial(0, 0, 1, 1.5, 2, 3.1415);
+        testFunction(poly1, "poly1", 10);
+
+        Function poly2 = new Polynomial(1, 0, 2, 1.5, 5, 2.17, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 3);
+        testFunction(poly2, "poly2", 20);
+
+        Function multiSum2 = new MultiSum(
+                                    new Constant(21.03),
+                                    poly1,
+                                    new Constant(5),
+                                    new Polynomial(3.1415));
+        testFunction(multiSum2, "multiSum2", 10);
+
+        Function multiProd1 = new MultiProduct(new Constant(10), new Polynomial(7, 3.5, 2, 1));
+        testFunction(multiProd1, "multiProd1", 10);
+
+        Function multiProd2 = new MultiProduct(
+                                            new Constant(3),
+                                            poly2,
+                                            new Negation(
+                                                    new Sum(
+                                                            new Constant(21),
+                                                            poly2)));
+        testFunction(multiProd2, "multiProd2", 10);
+
+        Function pow1 = Power.of(poly1, 3);
+        testFunction(pow1, "pow1", 5);
+
+        Function pow2 = Power.of(pow1, 3);
+        testFunction(pow2, "pow2", 4);
+
+        Function pow3 = Power.of(new Negation(poly1), 2);
+        testFunction(pow3, "pow3", 4);
+
+        Function quotient2 = new Quotient(new Polynomial(1, 0, 2.5, 3), new Polynomial(1, 2, 3, 4));
+        testFunction(quotient2, "quotient2", 8);
+
+        Function massiveFunc = new Sum(
+                                new MultiSum(quotient1, poly1, poly2),
+                                new Negation(
+                                        new Sum(
+                                                quotient1,
+                                                new Quotient(
+                                                        new Sum(
+                                                                new Difference(
+                                                                        pow1,
+                                                                        const3),
+                                                                const2),
+                                                        new Negation(
+                                                                new Quotient(
+                                                                        new Constant(2.17),
+                                                                        new Difference(quotient1, new Negation(poly2))))))));
+        testFunction(massiveFunc, "massiveFunc", 5);
+        testCompilation(massiveFunc, "massiveFunc");
+        testCompilation(massiveFunc.derivative(), "massiveFunc derivative");
+        System.out.println("massiveFunc derivative: " + massiveFunc.derivative().toString(120));
+        testTape(massiveFunc, "massiveFunc");
+        testTape(massiveFunc.derivative(), "massiveFunc derivative");
+        testLibrary(List.of(massiveFunc, massiveFunc.derivative(), pow2, quotient2, multiProd2));
+        testParser(List.of(prod2, quotient1, multiSum2, multiProd2, pow3, quotient2, massiveFunc, massiveFunc.derivative()));
+        testRegistry(List.of(prod2, quotient1, multiSum2, multiProd2, pow3, quotient2, massiveFunc, massiveFunc.derivative()));
+        testApproximation(quotient1, "quotient1", -10, 10);
+        testApproximation(pow2, "pow2", -1, 1);
+        testApproximation(quotient2, "quotient2", 0, 10);
+        testApproximation(massiveFunc, "massiveFunc", 1, 3);
+        testIntegration(poly1, massiveFunc);
+        testNormalization(pow2, "pow2");
+        testNormalization(multiProd1, "multiProd1");
+        testNormalization(multiProd2, "multiProd2");
+        testTaylorExpansion(poly1, "poly1", 3, 2);
+        testTaylorExpansion(quotient2, "quotient2", 10, 1);
+        testTaylorExpansion(massiveFunc, "massiveFunc", 20, 2);
+        testGradient(massiveFunc, 4);
+        testGradient(massiveFunc, 1000);
+        testDerivativeSharing(massiveFunc, "massiveFunc", 10);
+        testParallelEvaluation(massiveFunc, "massiveFunc", 100000);
+        testProfiler(massiveFunc, "massiveFunc", 1000);
+
+        testSimplification(quotient1, "quotient1", 3);
+        testSimplification(multiProd2, "multiProd2", 3);
+        testSimplification(pow2, "pow2", 3);
+        testSimplification(massiveFunc, "massiveFunc", 3);
+        testCommonSubexpressions(multiProd2, "multiProd2", 3);
+        testCommonSubexpressions(massiveFunc, "massiveFunc", 3);
+        testPowers();
+        System.out.println();
+
+        testPolynomialEvaluation();
+        testRootFinding();
+    }
+
+    /**
+     * Tests the methods of a given function, printing its values,
+     * derivative, and Taylor polynomial up to a specified order.
+     *
+     * @param function The function to test
+     * @param name The name of the function (for output purposes)
+     * @param taylorMaxOrder The maximum order for Taylor polynomial calculation
+     */
+    private static void testFunction(Function function, String name, int taylorMaxOrder) {
+        System.out.println(name + ": " + function);
+        System.out.println(name + " with toString: " + function.toString());
+        printFunctionValues(function, name, 10);
+        System.out.println(name + " derivative: " + function.derivative());
+        printTaylorPolynomial(function, name, taylorMaxOrder);
+        System.out.println();
+    }
+
+    /**
+     * Prints the values of the function at randomly generated x values.
+     *
+     * @param function The function to evaluate
+     * @param name The name of the function (for output purposes)
+     * @param numberOfValues The number of random values to generate and test
+     */
+    private static void printFunctionValues(Function function, String name, int numberOfValues) {
+        double[] xValues = new double[numberOfValues];
+        xValues[0] = 0;
+        xValues[1] = 1;
+        xValues[2] = -1;
+
+        for (int i = 3; i < numberOfValues; i++) {
+            double x = rnd.nextDouble() * 6000 - 3000;  // Random number in range [-3000, 3000]
+            x = roundThreePlaces(x);
+            xValues[i] = x;
+        }
+
+
+        double[] values = new double[numberOfValues];
+        function.valueAt(xValues, values);
+        for (int i = 0; i < numberOfValues; i++) {
+            System.out.println(name + " value at " + xValues[i] + ": " + values[i]);
+        }
+    }
+
+    /**
+     * Compiles the function and checks that the compiled form gives
+     * bit-identical values at randomly generated x values.
+     *
+     * @param function The function to compile
+     * @param name The name of the function (for output purposes)
+     */
+    private static void testCompilation(Function function, String name) {
+        Function compiled = function.compile();
+        int mismatches = 0;
+        for (int i = 0; i < 1000; i++) {
+            double x = rnd.nextDouble() * 6000 - 3000;
+            if (Double.doubleToLongBits(function.valueAt(x)) != Double.doubleToLongBits(compiled.valueAt(x)))
+                mismatches++;
+        }
+        System.out.println(name + " compiled: " + (compiled != function) + ", mismatches: " + mismatches);
+    }
+
+    /**
+     * Approximates the function on [a, b] with a relative tolerance of 1e-10 and compares the largest error
+     * at 10001 evenly spaced points with the reported bound.
+     *
+     * @param function The function to approximate
+     * @param name The name of the function (for output purposes)
+     * @param a The left end of the interval
+     * @param b The right end of the interval
+     */
+    private static void testApproximation(Function function, String name, double a, double b) {
+        ChebyshevApproximation approximation = function.approximate(a, b, 1e-10);
+        int n = 10001;
+        double error = 0;
+        double largest = 0;
+        for (int i = 0; i < n; i++) {
+            double x = a + (b - a) * i / (n - 1);
+            error = Math.max(error, Math.abs(approximation.valueAt(x) - function.valueAt(x)));
+            largest = Math.max(largest, Math.abs(function.valueAt(x)));
+        }
+        System.out.println(name + " approximated on [" + a + ", " + b + "]: " + approximation.numberOfPieces() + " pieces, "
+                + approximation.numberOfCoefficients() + " coefficients, error bound " + approximation.getErrorBound()
+                + ", largest error " + error + " for values up to " + largest);
+    }
+
+    /**
+     * Collapses a tree of polynomials into one Polynomial and compares the values at random x values
+     * in [-10, 10].
+     *
+     * @param function The tree of polynomials
+     * @param name The name of the function (for output purposes)
+     */
+    private static void testNormalization(Function function, String name) {
+        Function normalized = Polynomial.normalize(function);
+        Random random = new Random(11);
+        double error = 0;
+        for (int i = 0; i < 1000; i++) {
+            double x = random.nextDouble() * 20 - 10;
+            double value = function.valueAt(x);
+            error = Math.max(error, Math.abs(normalized.valueAt(x) - value) / Math.max(1, Math.abs(value)));
+        }
+        System.out.println(name + " normalized: " + normalized.toString(100) + ", largest relative difference " + error);
+    }
+
+    /**
+     * Expands the function around a point and compares the expansion with the function
+     * at points close to it.
+     *
+     * @param function The function to expand
+     * @param name The name of the function (for output purposes)
+     * @param n The order of the expansion
+     * @param c The point to expand around
+     */
+    private static void testTaylorExpansion(Function function, String name, int n, double c) {
+        Function expansion = function.taylorPolynomial(n, c);
+        System.out.println(name + " Taylor polynomial of order " + n + " around " + c + ": " + expansion.toString(120));
+        for (double x : new double[] { c - 0.05, c, c + 0.05 }) {
+            System.out.println(name + "(" + x + ") = " + function.valueAt(x) + ", expansion: " + expansion.valueAt(x));
+        }
+    }
+
+    /**
+     * Builds the Rosenbrock function of n variables, the sum of 100(x_{i+1} - x_i^2)^2 + (1 - x_i)^2,
+     * compares its gradient with central differences, checks that it survives the parser,
+     * and prints the Jacobian of it and a function of x_0 alone.
+     *
+     * @param function A function of x, which is x_0
+     * @param n The number of variables
+     */
+    private static void testGradient(Function function, int n) {
+        Variable[] variables = new Variable[n];
+        for (int i = 0; i < n; i++) {
+            variables[i] = new Variable(i);
+        }
+        Function[] terms = new Function[n - 1];
+        for (int i = 0; i < n - 1; i++) {
+            terms[i] = new Sum(
+                    new Product(new Constant(100), Power.of(new Difference(variables[i + 1], Power.of(variables[i], 2)), 2)),
+                    Power.of(new Difference(new Constant(1), variables[i]), 2));
+        }
+        Function rosenbrock = new MultiSum(terms);
+        double[] point = new double[n];
+        for (int i = 0; i < n; i++) {
+            point[i] = 1 + 0.5 * Math.sin(i);
+        }
+        String name = "rosenbrock" + n;
+        double[] gradient = rosenbrock.gradientAt(point);
+        double maxError = 0;
+        for (int i = 0; i < n; i++) {
+            double h = 1e-6;
+            double saved = point[i];
+            point[i] = saved + h;
+            double above = rosenbrock.valueAtPoint(point);
+            point[i] = saved - h;
+            double below = rosenbrock.valueAtPoint(point);
+            point[i] = saved;
+            maxError = Math.max(maxError, Math.abs(gradient[i] - (above - below) / (2 * h)) / Math.max(1, Math.abs(gradient[i])));
+        }
+        System.out.println(name + " at the point: " + rosenbrock.valueAtPoint(point) + ", parsed: "
+                + FunctionParser.parse(rosenbrock.toString()).valueAtPoint(point));
+        System.out.println(name + " gradient: " + (n <= 4 ? Arrays.toString(gradient) : n + " partials")
+                + ", largest relative difference to central differences: " + (maxError < 1e-5 ? "below 1e-5" : maxError));
+        if (n <= 4) {
+            double[][] jacobian = Function.jacobianAt(List.of(rosenbrock, function), point);
+            System.out.println(name + " and massiveFunc Jacobian: " + Arrays.deepToString(jacobian)
+                    + ", massiveFunc derivative: " + function.derivative().valueAt(point[0]));
+        }
+    }
+
+    /**
+     * Integrates a polynomial exactly and adaptively, a quotient with a known integral,
+     * the derivative of a large tree, whose integral is the difference of the values of the tree,
+     * and a quotient across a pole, which does not converge.
+     *
+     * @param polynomial A polynomial
+     * @param function A large tree that is smooth on [1, 3]
+     */
+    private static void testIntegration(Function polynomial, Function function) {
+        System.out.println("polynomial integral on [-2.0, 3.0]: " + new Integrator(polynomial).integrate(-2, 3)
+                + ", adaptive: " + new Integrator(new Negation(new Negation(polynomial))).integrate(-2, 3));
+        Function quotient3 = new Quotient(new Polynomial(-4, 0, 1), new Polynomial(0, 0, 1, 0, 1));
+        System.out.println("quotient3 integral on [1.0, 4.0]: " + new Integrator(quotient3).integrate(1, 4)
+                + ", exact: " + (-3 + 5 * (Math.atan(4) - Math.atan(1))));
+        System.out.println("quotient3 integral on [-1.0, 1.0]: " + new Integrator(quotient3).integrate(-1, 1));
+        System.out.println("derivative integral on [1.0, 3.0]: " + new Integrator(function.derivative()).integrate(1, 3)
+                + ", difference of values: " + (function.valueAt(3) - function.valueAt(1)));
+    }
+
+    /**
+     * Profiles a block evaluation and single evaluations of the function at points
+     * in [-3, 3], and prints the calls, NaN and infinite values of the root and the most expensive nodes.
+     *
+     * @param function The function to profile
+     * @param name The name of the function (for output purposes)
+     * @param numberOfValues The number of points in the block
+     */
+    private static void testProfiler(Function function, String name, int numberOfValues) {
+        Profiler profiler = new Profiler(function);
+        Function profiled = profiler.getFunction();
+        double[] xs = new double[numberOfValues];
+        for (int i = 0; i < numberOfValues; i++) {
+            xs[i] = -3 + 6.0 * i / (numberOfValues - 1);
+        }
+        double[] out = new double[numberOfValues];
+        profiled.valueAt(xs, out);
+        boolean same = true;
+        for (int i = 0; i < numberOfValues; i++) {
+            same &= Double.compare(out[i], function.valueAt(xs[i])) == 0
+                    && Double.compare(profiled.valueAt(xs[i]), out[i]) == 0;
+        }
+        List<Profiler.NodeMetrics> metrics = profiler.getMetrics();
+        Profiler.NodeMetrics root = metrics.get(metrics.size() - 1);
+        System.out.println(name + " profiled: " + metrics.size() + " distinct nodes, same values: " + same
+                + ", root calls: " + root.getCalls() + ", NaN: " + root.getNaNs() + ", infinite: " + root.getInfinities());
+        System.out.print(profiler.report(5));
+        profiler.commitEvents();
+    }
+
+    /**
+     * Samples the function in parallel and checks that every value equals the one of valueAt.
+     *
+     * @param function The function to sample
+     * @param name The name of the function (for output purposes)
+     * @param numberOfValues The number of points to sample in [-3000, 3000]
+     */
+    private static void testParallelEvaluation(Function function, String name, int numberOfValues) {
+        double[] values = function.sample(-3000, 3000, numberOfValues);
+        int mismatches = 0;
+        for (int i = 0; i < numberOfValues; i++) {
+            double x = -3000 + 6000.0 * i / (numberOfValues - 1);
+            if (Double.doubleToLongBits(values[i]) != Double.doubleToLongBits(function.valueAt(x)))
+                mismatches++;
+        }
+        System.out.println(name + " sampled at " + numberOfValues + " points, mismatches: " + mismatches);
+    }
+
+    /**
+     * Lowers the function into a tape in a direct buffer and checks that the tape gives
+     * bit-identical values at random x values, one at a time and as a block.
+     *
+     * @param function The function to lower
+     * @param name The name of the function (for output purposes)
+     */
+    private static void testTape(Function function, String name) {
+        Tape tape = function.toTape(ByteBuffer.allocateDirect(function.toTape().byteSize()));
+        Random random = new Random(7);
+        double[] xs = new double[1000];
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] = random.nextDouble() * 6000 - 3000;
+        }
+        double[] values = new double[xs.length];
+        tape.valueAt(xs, values);
+        int mismatches = 0;
+        for (int i = 0; i < xs.length; i++) {
+            long expected = Double.doubleToLongBits(function.valueAt(xs[i]));
+            if (expected != Double.doubleToLongBits(tape.valueAt(xs[i])) || expected != Double.doubleToLongBits(values[i]))
+                mismatches++;
+        }
+        System.out.println(name + " tape: " + tape.byteSize() + " bytes off-heap: " + tape.isDirect()
+                + ", mismatches: " + mismatches);
+    }
+
+    /**
+     * Writes the functions to a library file, opens it again and checks that every loaded function
+     * has the same string representation and gives bit-identical values at random x values.
+     *
+     * @param functions The functions to store
+     */
+    private static void testLibrary(List<Function> functions) {
+        try {
+            Path file = Files.createTempFile("functions", ".lib");
+            try {
+                FunctionLibrary.write(file, functions);
+                FunctionLibrary library = FunctionLibrary.open(file);
+                Random random = new Random(7);
+                int mismatches = 0;
+                for (int i = 0; i < library.size(); i++) {
+                    Function loaded = library.get(i);
+                    if (!loaded.toString().equals(functions.get(i).toString()))
+                        mismatches++;
+                    for (int j = 0; j < 100; j++) {
+                        double x = random.nextDouble() * 6000 - 3000;
+                        if (Double.doubleToLongBits(loaded.valueAt(x)) != Double.doubleToLongBits(functions.get(i).valueAt(x)))
+                            mismatches++;
+                    }
+                }
+                System.out.println("library of " + library.size() + " functions: " + library.numberOfNodes() + " nodes, "
+                        + Files.size(file) + " bytes, mismatches: " + mismatches);
+            } finally {
+                Files.delete(file);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Parses the string representation of every function and checks that the parsed function
+     * has the same string representation and gives bit-identical values at random x values.
+     *
+     * @param functions The functions to parse back
+     */
+    private static void testParser(List<Function> functions) {
+        Random random = new Random(7);
+        int mismatches = 0;
+        for (Function function : functions) {
+            Function parsed = FunctionParser.parse(function.toString());
+            if (!parsed.toString().equals(function.toString()))
+                mismatches++;
+            for (int j = 0; j < 100; j++) {
+                double x = random.nextDouble() * 6000 - 3000;
+                if (Double.doubleToLongBits(parsed.valueAt(x)) != Double.doubleToLongBits(function.valueAt(x)))
+                    mismatches++;
+            }
+        }
+        System.out.println("parsed " + functions.size() + " functions back from toString, mismatches: " + mismatches);
+        Function infix = FunctionParser.parse("x^2 - 3x + 2 / (x - 1)");
+        System.out.println("x^2 - 3x + 2 / (x - 1) parsed: " + infix);
+    }
+
+    /**
+     * Prints the number of distinct nodes in the interned derivatives of the function
+     * up to a specified order.
+     *
+     * @param function The function to differentiate
+     * @param name The name of the function (for output purposes)
+     * @param maxOrder The highest derivative order
+     */
+    private static void testDerivativeSharing(Function function, String name, int maxOrder) {
+        Interner interner = new Interner();
+        Function derivative = interner.intern(function);
+        for (int n = 1; n <= maxOrder; n++) {
+            derivative = interner.derivative(derivative);
+            System.out.println(name + " distinct nodes up to derivative " + n + ": " + interner.size());
+        }
+    }
+
+    /**
+     * Compares the derivative of a given order of the function with its simplified form,
+     * printing the node count of both trees. Their evaluation times are measured by DerivativeBenchmark.
+     *
+     * @param function The function to differentiate
+     * @param name The name of the function (for output purposes)
+     * @param order The derivative order
+     */
+    private static void testSimplification(Function function, String name, int order) {
+        Function derivative = function;
+        for (int i = 0; i < order; i++) {
+            derivative = derivative.derivative();
+        }
+        Function simplified = derivative.simplify();
+        System.out.println(name + " derivative " + order + " nodes: " + countNodes(derivative)
+                + ", simplified: " + countNodes(simplified));
+    }
+
+    /**
+     * Registers the functions from several threads at once, every thread registering all of them
+     * in its own order, and checks that every thread gets the same prepared function for a name
+     * and that its values equal the values of the original function.
+     *
+     * @param functions The functions to register
+     */
+    private static void testRegistry(List<Function> functions) {
+        FunctionRegistry registry = new FunctionRegistry(new Interner());
+        int threads = 4;
+        Function[][] seen = new Function[threads][functions.size()];
+        boolean[] sameValues = new boolean[threads];
+        IntStream.range(0, threads).parallel().forEach(t -> {
+            boolean same = true;
+            for (int k = 0; k < functions.size(); k++) {
+                int i = (k + t) % functions.size();
+                Function function = registry.register("f" + i, functions.get(i));
+                seen[t][i] = function;
+                for (double x = -2; x <= 2; x += 0.25) {
+                    same &= Double.compare(function.valueAt(x), functions.get(i).valueAt(x)) == 0;
+                }
+            }
+            sameValues[t] = same;
+        });
+        boolean sameInstances = true;
+        boolean allSameValues = true;
+        for (int t = 0; t < threads; t++) {
+            allSameValues &= sameValues[t];
+            for (int i = 0; i < functions.size(); i++) {
+                sameInstances &= seen[t][i] == registry.get("f" + i);
+            }
+        }
+        System.out.println("registry: " + registry.size() + " functions registered from " + threads
+                + " threads, same instances: " + sameInstances + ", same values: " + allSameValues);
+    }
+
+    /**
+     * Eliminates the common subexpressions of the derivative of a given order of the function,
+     * printing the node evaluations per point of the tree and of the program and whether their values
+     * are identical. Their evaluation times are measured by CommonSubexpressionBenchmark.
+     *
+     * @param function The function to differentiate
+     * @param name The name of the function (for output purposes)
+     * @param order The derivative order
+     */
+    private static void testCommonSubexpressions(Function function, String name, int order) {
+        Function derivative = function;
+        for (int i = 0; i < order; i++) {
+            derivative = derivative.derivative();
+        }
+        SlotProgram program = derivative.eliminateCommonSubexpressions();
+        boolean same = true;
+        for (int i = 0; i < 1000; i++) {
+            double x = -5 + i * 0.01;
+            same &= Double.compare(derivative.valueAt(x), program.valueAt(x)) == 0;
+        }
+        System.out.println(name + " derivative " + order + " node evaluations: " + program.getTreeEvaluations()
+                + ", after common-subexpression elimination: " + program.getNumberOfOperations() + ", same values: " + same);
+    }
+
+    /**
+     * Tests the specialized powers: squares and cubes, negative exponents evaluated by repeated
+     * squaring, odd roots of negative numbers and the derivatives of powers.
+     * Prints whether the compiled and tape forms match the tree.
+     */
+    private static void testPowers() {
+        Function x = new Polynomial(0, 1);
+        Function base = new Sum(x, new Constant(0.5));
+        Function[] powers = {Power.of(base, 2), Power.of(base, 3), Power.of(base, 7), Power.of(base, -3),
+                Power.of(base, 2, 4), Power.of(x, 1, 3), Power.of(x, 2, 3), Power.of(base, 7).derivative(),
+                Power.of(x, 1, 3).derivative()};
+        for (Function power : powers) {
+            Function compiled = power.compile();
+            Function tape = power.toTape();
+            boolean same = true;
+            for (int i = 0; i < 1000; i++) {
+                double value = -5 + i * 0.01;
+                same &= Double.compare(power.valueAt(value), compiled.valueAt(value)) == 0
+                        && Double.compare(power.valueAt(value), tape.valueAt(value)) == 0;
+            }
+            System.out.println(power + " " + power.getClass().getSimpleName() + " at -2: " + power.valueAt(-2)
+                    + ", range over [-2, 1]: " + power.rangeOver(new Interval(-2, 1))
+                    + ", compiled and tape match: " + same);
+        }
+        Function cubeRoot = FunctionParser.parse("(x^(1/3))");
+        System.out.println("parsed " + cubeRoot + " derivative: " + cubeRoot.derivative() + ", at -8: " + cubeRoot.derivative().valueAt(-8));
+
+        Function derivative = Power.of(new Sum(new Product(x, x), new Constant(1)), 5).derivative();
+        Function expanded = ((PowerDerivative) derivative).expanded();
+        double maxError = 0;
+        for (int i = 0; i < 1000; i++) {
+            double value = -2 + i * 0.004;
+            double expected = expanded.valueAt(value);
+            maxError = Math.max(maxError, Math.abs(derivative.valueAt(value) - expected) / Math.max(Math.abs(expected), 1));
+        }
+        System.out.println("derivative " + derivative + " max relative difference from the expanded form: " + maxError);
+    }
+
+    /**
+     * Counts the nodes of a function tree, counting a shared subtree once per reference.
+     *
+     * @param function The function
+     * @return The number of nodes
+     */
+    private static long countNodes(Function function) {
+        long count = 1;
+        for (Function child : function.children()) {
+            count += countNodes(child);
+        }
+        return count;
+    }
+
+    /**
+     * Rounds a given number to three decimal places.
+     *
+     * @param num The number to round
+     * @return The rounded number
+     */
+    private static double roundThreePlaces(double num) {
+        return Double.parseDouble(String.format("%.3f", num));
+    }
+
+    /**
+     * Prints the Taylor polynomial of the function up to a specified maximum order.
+     *
+     * @param function The function for which to calculate the Taylor polynomial
+     * @param name The name of the function (for output purposes)
+     * @param maxOrder The maximum order for Taylor polynomial calculation
+     */
+    private static void printTaylorPolynomial(Function function, String name, int maxOrder) {
+        for (int n = 0; n <= maxOrder; n++) {
+            System.out.println(name + " Taylor polynomial of order " + n + ": " + function.taylorPolynomial(n));
+        }
+    }
+
+    /**
+     * Compares every polynomial evaluation scheme against the term-by-term
+     * Math.pow sum, printing the largest relative difference for each scheme.
+     */
+    private static void testPolynomialEvaluation() {
+        double[][] coefficientSets = {
+                {0, 0, 1, 1.5, 2, 3.1415},
+                {1, 0, 2, 1.5, 5, 2.17, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 3},
+                {1, -2, 3, -4, 5, -6, 7, -8, 9, -10, 11, -12, 13, -14, 15, -16, 17, -18, 19, -20, 21}
+        };
+        for (double[] coefficients : coefficientSets) {
+            for (Polynomial.Evaluation evaluation : Polynomial.Evaluation.values()) {
+                Polynomial polynomial = new Polynomial(evaluation, coefficients);
+                Function compiled = polynomial.compile();
+                double maxError = 0;
+                boolean compiledMatches = true;
+                for (int i = 0; i < 1000; i++) {
+                    double x = rnd.nextDouble() * 20 - 10;
+                    double expected = 0;
+                    for (int j = 0; j < coefficients.length; j++) {
+                        expected += coefficients[j] * Math.pow(x, j);
+                    }
+                    double value = polynomial.valueAt(x);
+                    maxError = Math.max(maxError, Math.abs(value - expected) / Math.max(Math.abs(expected), 1));
+                    compiledMatches &= Double.doubleToLongBits(value) == Double.doubleToLongBits(compiled.valueAt(x));
+                }
+                System.out.println(polynomial + " " + evaluation + " max relative error: " + maxError
+                        + (compiledMatches ? "" : " (compiled form differs)"));
+            }
+        }
+        System.out.println();
+    }
+
+    /**
+     * Tests root-finding methods on predefined polynomial functions.
+     */
+    private static void testRootFinding() {
+        Function poly3 = new Polynomial(-4, 0, 1);
+        System.out.println("poly3: " + poly3);
+        printRoot(poly3, "poly3", 0, 5, 1e-5);
+        printRoot(poly3, "poly3", 0, 5, -1);
+        printRoot(poly3, "poly3", 1, 9.5, 1e-10);
+        printRoot(poly3, "poly3", 1.0, 900000.235, 1e-10);
+        printRoot(poly3, "poly3", -10, 0, 1e-6);
+        System.out.println();
+
+        Function poly4 = new Polynomial(4, 0, -1);
+        System.out.println("poly4: " + poly4);
+        printRoot(poly4, "poly4", 0, 5, 1e-5);
+        printRoot(poly4, "poly4", 0, 5, -1);
+        printRoot(poly4, "poly4", 1, 9, 1e-10);
+        printRoot(poly4, "poly4", -10, 0, 1e-6);
+        System.out.println();
+
+        Function quotient3 = new Quotient(poly3, new Polynomial(0, 0, 1, 0, 1));
+        System.out.println("quotient3: " + quotient3);
+        printRoot(quotient3, "quotient3", 1, 4, 1e-5);
+        printRoot(quotient3, "quotient3", 1, 4, -1);
+        printRoot(quotient3, "quotient3", 1, 3, 1e-10);
+        printRoot(quotient3, "quotient3", -3, -1, 1e-10);
+        printRoot(quotient3, "quotient3", -4, -1, 1e-6);
+        System.out.println();
+
+        printRootFinder(poly3, "poly3", 0, 5);
+        printRootFinder(quotient3, "quotient3", -4, -1);
+        Function poly5 = new Polynomial(6, -7, 0, 1);
+        System.out.println("poly5: " + poly5);
+        System.out.println("poly5 all roots in [-10.0, 10.0]: " + new RootFinder(poly5, 1e-12, 100).findAllRoots(-10, 10, 999));
+        System.out.println("poly5 isolated roots in [-10.0, 10.0]: " + new RootFinder(poly5, 1e-12, 100).isolateRoots(-10, 10));
+        Function doubleRoot = new Product(Power.of(new Polynomial(-1, 1), 2), new Polynomial(2, 1));
+        System.out.println("doubleRoot: " + doubleRoot);
+        System.out.println("doubleRoot all roots in [-10.0, 10.0]: " + new RootFinder(doubleRoot, 1e-12, 100).findAllRoots(-10, 10, 999));
+        System.out.println("doubleRoot isolated roots in [-10.0, 10.0]: " + new RootFinder(doubleRoot, 1e-12, 100).isolateRoots(-10, 10));
+        System.out.println("quotient3 range over [1.0, 2.0]: " + quotient3.rangeOver(1, 2) + ", over [-1.0, 1.0]: " + quotient3.rangeOver(-1, 1));
+        System.out.println("quotient3 isolated roots in [-4.0, 4.0]: " + new RootFinder(quotient3, 1e-12, 100).isolateRoots(-4, 4));
+        System.out.println();
+
+        System.out.println("poly3 all roots: " + Arrays.toString(((Polynomial) poly3).roots()));
+        System.out.println("poly4 all roots: " + Arrays.toString(((Polynomial) poly4).roots()));
+        System.out.println("poly5 all roots: " + Arrays.toString(((Polynomial) poly5).roots()));
+    }
+
+    /**
+     * Prints the results of every bracketing method of RootFinder on the interval [a, b].
+     *
+     * @param function The function for which to find the root
+     * @param name The name of the function (for output purposes)
+     * @param a The lower bound of the interval
+     * @param b The upper bound of the interval
+     */
+    private static void printRootFinder(Function function, String name, double a, double b) {
+        RootFinder rootFinder = new RootFinder(function, 1e-12, 100);
+        String interval = " root in [" + a + ", " + b + "] by ";
+        System.out.println(name + interval + "bisection: " + rootFinder.bisection(a, b));
+        System.out.println(name + interval + "Illinois: " + rootFinder.illinois(a, b));
+        System.out.println(name + interval + "Brent: " + rootFinder.brent(a, b));
+        System.out.println(name + interval + "safeguarded Newton: " + rootFinder.safeguardedNewton(a, b));
+    }
+
+    /**
+     * Prints the root of a function within a specified interval [a, b]
+     * using the bisection method and Newton-Raphson method.
+     *
+     * @param function The function for which to find the root
+     * @param name The name of the function (for output purposes)
+     * @param a The lower bound of the interval
+     * @param b The upper bound of the interval
+     * @param epsilon The precision for the root-finding methods
+     */
+    private static void printRoot(Function function, String name, double a, double b, double epsilon) {
+        if (epsilon > 0) {
+            System.out.println(name + " root in [" + a + ", " + b + "] and epsilon=" + epsilon + ": " + function.bisectionMethod(a, b, epsilon));
+        } else {
+            System.out.println(name + " root in [" + a + ", " + b + "] and default epsilon: " + function.bisectionMethod(a, b));
+        }
+        double mid = (a + b) / 2;
+        if (epsilon > 0) {
+            System.out.println(name + " root near " + mid + " and epsilon=" + epsilon + ": " + function.newtonRaphsonMethod(mid, epsilon));
+        } else {
+            System.out.println(name + " root near " + mid + " and default epsilon: " + function.newtonRaphsonMethod(mid));
+        }
+    }
+}
\ No newline at end of file
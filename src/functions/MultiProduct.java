@@ -0,0 +1,233 @@
+package functions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The MultiProduct class represents the product of multiple functions.
+ * It extends the Function class.
+ */
+public class MultiProduct extends Function{
+    private final Function[] multiProductFunctions;
+    private final int numberOfFunctions;
+
+    /**
+     * Constructs a MultiProduct object with the specified functions.
+     * The array is copied, so changing it later does not change the product.
+     * @param multiProductFunctions the functions to be multiplied together
+     * @throws IllegalArgumentException if there are fewer than two functions
+     */
+    public MultiProduct(Function... multiProductFunctions){
+        this.numberOfFunctions = multiProductFunctions.length;
+        if ( numberOfFunctions < 2 )
+            throw new IllegalArgumentException("a MultiProduct needs at least two functions, got " + numberOfFunctions);
+        this.multiProductFunctions = multiProductFunctions.clone();
+    }
+    /**
+     * Constructs a MultiProduct object with the specified derivative and functions.
+     * @param derivative the derivative function
+     * @param derivativedFunctionIndex the index of the derivative function in the original functions array
+     * @param functions the original functions array
+     * @throws IllegalArgumentException if there are fewer than two functions
+     */
+    public MultiProduct(Function derivative,int derivativedFunctionIndex, Function... functions){
+        this.numberOfFunctions = functions.length;
+        if ( numberOfFunctions < 2 )
+            throw new IllegalArgumentException("a MultiProduct needs at least two functions, got " + numberOfFunctions);
+        this.multiProductFunctions = new Function[numberOfFunctions];
+        this.multiProductFunctions[0] = derivative;
+        int currentIndex = 1 ;
+        for ( int i = 0 ; i < numberOfFunctions ; i++ ){
+            if ( i != derivativedFunctionIndex ) {
+                this.multiProductFunctions[currentIndex] = functions[i];
+                currentIndex++;
+            }
+        }
+    }
+    /**
+     * Returns the product of the functions at a given input.
+     * @param x the input value
+     * @return the product of the functions
+     */
+    @Override
+    public double valueAt(double x){
+        double result = 1;
+        for ( int i = 0; i < numberOfFunctions ; i++ ){
+            result *= multiProductFunctions[i].valueAt(x);
+        }
+        return result;
+    }
+    /**
+     * Returns the product of the functions at a point of several variables.
+     * @param point the values of the variables
+     * @return the product of the functions at the point
+     */
+    @Override
+    public double valueAtPoint(double[] point){
+        double result = 1;
+        for ( int i = 0; i < numberOfFunctions ; i++ ){
+            result *= multiProductFunctions[i].valueAtPoint(point);
+        }
+        return result;
+    }
+    /**
+     * Calculates the value and the derivative of the product in one pass over the tree,
+     * with the dual-number rules of JetEvaluator.
+     * @param x the input value
+     * @return a new array holding the value and the derivative at x
+     */
+    @Override
+    public double[] valueAndDerivativeAt(double x){
+        double[] result = { 1, 0 };
+        for ( int i = 0; i < numberOfFunctions ; i++ ){
+            double[] factor = multiProductFunctions[i].valueAndDerivativeAt(x);
+            double value = result[0] * factor[0];
+            result[1] = result[0] * factor[1] + result[1] * factor[0];
+            result[0] = value;
+        }
+        return result;
+    }
+    /**
+     * Returns the products of the functions at a block of inputs.
+     * @param xs the input values
+     * @param out the array the products are written to
+     */
+    @Override
+    public void valueAt(double[] xs, double[] out){
+        double[] values = new double[xs.length];
+        for ( int j = 0 ; j < xs.length ; j++ ){
+            out[j] = 1;
+        }
+        for ( int i = 0; i < numberOfFunctions ; i++ ){
+            multiProductFunctions[i].valueAt(xs, values);
+            for ( int j = 0 ; j < xs.length ; j++ ){
+                out[j] *= values[j];
+            }
+        }
+    }
+    /**
+     * Returns an interval containing every value of the product of the functions for x in the given interval.
+     * @param x the interval of inputs
+     * @return an enclosure of the range of the product of the functions
+     */
+    @Override
+    public Interval rangeOver(Interval x){
+        Interval range = Interval.point(1);
+        for ( int i = 0 ; i < numberOfFunctions ; i++ ){
+            range = i == 0 ? multiProductFunctions[i].rangeOver(x) : range.multiply(multiProductFunctions[i].rangeOver(x));
+        }
+        return range;
+    }
+    /**
+     * Emits the code that computes this node.
+     * @param emitter the emitter to emit the code to
+     */
+    @Override
+    void compileTo(Emitter emitter){
+        emitter.constant(1);
+        for ( int i = 0; i < numberOfFunctions ; i++ ){
+            emitter.emit(multiProductFunctions[i]);
+            emitter.multiply();
+        }
+    }
+    /**
+     * Returns the multiplied functions.
+     * @return a copy of the multiplied functions
+     */
+    @Override
+    Function[] children(){
+        return multiProductFunctions.clone();
+    }
+    /**
+     * Returns a new MultiProduct of the given functions.
+     * @param children the functions
+     * @return the new MultiProduct
+     */
+    @Override
+    Function withChildren(Function[] children){
+        return new MultiProduct(children);
+    }
+    /**
+     * A MultiProduct holds no data besides its functions.
+     * @param other another MultiProduct
+     * @return true
+     */
+    @Override
+    boolean sameData(Function other){
+        return true;
+    }
+    @Override
+    int dataHash(){
+        return 0;
+    }
+    /**
+     * Simplifies the multiplied functions, merging all constants and polynomials
+     * into one Polynomial and removing factors equal to 1.
+     * Nested products are kept as they are, so subtrees shared with other functions stay shared.
+     * A factor equal to 0 makes the whole product 0.
+     * @return the simplified product
+     */
+    @Override
+    public Function simplify(){
+        List<Function> factors = new ArrayList<>();
+        Polynomial polynomial = null;
+        int polynomialIndex = 0;
+        for ( int i = 0; i < numberOfFunctions ; i++ ){
+            Function factor = simplifiedOf(multiProductFunctions[i]);
+            if ( Constant.is(factor, 0) )
+                return new Constant(0);
+            Polynomial p = Polynomial.of(factor);
+            if ( p == null )
+                factors.add(factor);
+            else if ( polynomial == null ){
+                polynomial = p;
+                polynomialIndex = factors.size();
+            }
+            else
+                polynomial = polynomial.multiply(p);
+        }
+        if ( polynomial != null && !Constant.is(polynomial.simplify(), 1) )
+            factors.add(polynomialIndex, polynomial.simplify());
+        if ( factors.isEmpty() )
+            return new Constant(1);
+        if ( factors.size() == 1 )
+            return factors.get(0);
+        Function[] simplified = factors.toArray(new Function[0]);
+        return Arrays.equals(simplified, multiProductFunctions) ? this : new MultiProduct(simplified);
+    }
+    /**
+     * Appends a string representation of the product of the functions.
+     * The functions are enclosed in parentheses and separated by multiplication signs.
+     * @param builder the StringBuilder to append to
+     * @param limit the length of the builder after which children are elided
+     */
+    @Override
+    void appendTo(StringBuilder builder, int limit){
+        builder.append('(');
+        for ( int i = 0; i < numberOfFunctions && builder.length() < limit ; i++ ){
+            append(builder, multiProductFunctions[i], limit);
+            if ( i != numberOfFunctions - 1 )
+                builder.append(" * ");
+        }
+        builder.append(')');
+    }
+    /**
+     * Returns the derivative of the product of the functions.
+     * The derivative is computed by applying the product rule and creating a MultiSum object.
+     * @return the derivative of the product of the functions
+     */
+    @Override
+    public Function derivative() {
+        MultiProduct[] result = new MultiProduct[numberOfFunctions];
+        Function[] derivatives = new Function[numberOfFunctions];
+        for ( int i = 0; i < numberOfFunctions; i++ ){
+            derivatives[i] = derivativeOf(multiProductFunctions[i]);
+        }
+        for ( int i = 0; i < numberOfFunctions ; i++ ){
+            MultiProduct currentDerivative = new MultiProduct(derivatives[i], i, multiProductFunctions);
+            result[i] = currentDerivative;
+        }
+        return new MultiSum(result);
+    }
+}
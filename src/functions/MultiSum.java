@@ -0,0 +1,202 @@
+package functions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The MultiSum class represents the sum of multiple functions.
+ * It extends the Function class.
+ */
+public class MultiSum extends Function {
+    private final Function[] multiSumFunctions;
+    private final int numberOfFunctions;
+    /**
+     * Constructs a MultiSum object with the specified functions.
+     * The array is copied, so changing it later does not change the sum.
+     * @param multiSumFunctions the functions to be summed
+     * @throws IllegalArgumentException if there are fewer than two functions
+     */
+    public MultiSum(Function... multiSumFunctions){
+        this.numberOfFunctions = multiSumFunctions.length;
+        if ( numberOfFunctions < 2 )
+            throw new IllegalArgumentException("a MultiSum needs at least two functions, got " + numberOfFunctions);
+        this.multiSumFunctions = multiSumFunctions.clone();
+    }
+    /**
+     * Returns the sum of the functions at a given input.
+     * @param x the input value
+     * @return the sum of the functions
+     */
+    @Override
+    public double valueAt(double x){
+        double result = 0;
+        for ( int i = 0; i < numberOfFunctions ; i++ ){
+            result += multiSumFunctions[i].valueAt(x);
+        }
+        return result;
+    }
+    /**
+     * Returns the sum of the functions at a point of several variables.
+     * @param point the values of the variables
+     * @return the sum of the functions at the point
+     */
+    @Override
+    public double valueAtPoint(double[] point){
+        double result = 0;
+        for ( int i = 0; i < numberOfFunctions ; i++ ){
+            result += multiSumFunctions[i].valueAtPoint(point);
+        }
+        return result;
+    }
+    /**
+     * Calculates the value and the derivative of the sum in one pass over the tree,
+     * with the dual-number rules of JetEvaluator.
+     * @param x the input value
+     * @return a new array holding the value and the derivative at x
+     */
+    @Override
+    public double[] valueAndDerivativeAt(double x){
+        double[] result = new double[2];
+        for ( int i = 0; i < numberOfFunctions ; i++ ){
+            double[] term = multiSumFunctions[i].valueAndDerivativeAt(x);
+            result[0] += term[0];
+            result[1] += term[1];
+        }
+        return result;
+    }
+    /**
+     * Returns the sums of the functions at a block of inputs.
+     * @param xs the input values
+     * @param out the array the sums are written to
+     */
+    @Override
+    public void valueAt(double[] xs, double[] out){
+        double[] values = new double[xs.length];
+        for ( int j = 0 ; j < xs.length ; j++ ){
+            out[j] = 0;
+        }
+        for ( int i = 0; i < numberOfFunctions ; i++ ){
+            multiSumFunctions[i].valueAt(xs, values);
+            for ( int j = 0 ; j < xs.length ; j++ ){
+                out[j] += values[j];
+            }
+        }
+    }
+    /**
+     * Returns an interval containing every value of the sum of the functions for x in the given interval.
+     * @param x the interval of inputs
+     * @return an enclosure of the range of the sum of the functions
+     */
+    @Override
+    public Interval rangeOver(Interval x){
+        Interval range = Interval.point(0);
+        for ( int i = 0 ; i < numberOfFunctions ; i++ ){
+            range = i == 0 ? multiSumFunctions[i].rangeOver(x) : range.add(multiSumFunctions[i].rangeOver(x));
+        }
+        return range;
+    }
+    /**
+     * Emits the code that computes this node.
+     * @param emitter the emitter to emit the code to
+     */
+    @Override
+    void compileTo(Emitter emitter){
+        emitter.constant(0);
+        for ( int i = 0; i < numberOfFunctions ; i++ ){
+            emitter.emit(multiSumFunctions[i]);
+            emitter.add();
+        }
+    }
+    /**
+     * Returns the summed functions.
+     * @return a copy of the summed functions
+     */
+    @Override
+    Function[] children(){
+        return multiSumFunctions.clone();
+    }
+    /**
+     * Returns a new MultiSum of the given functions.
+     * @param children the functions
+     * @return the new MultiSum
+     */
+    @Override
+    Function withChildren(Function[] children){
+        return new MultiSum(children);
+    }
+    /**
+     * A MultiSum holds no data besides its functions.
+     * @param other another MultiSum
+     * @return true
+     */
+    @Override
+    boolean sameData(Function other){
+        return true;
+    }
+    @Override
+    int dataHash(){
+        return 0;
+    }
+    /**
+     * Simplifies the summed functions, merging all constants and polynomials
+     * into one Polynomial and removing terms equal to 0.
+     * Nested sums are kept as they are, so subtrees shared with other functions stay shared.
+     * @return the simplified sum
+     */
+    @Override
+    public Function simplify(){
+        List<Function> terms = new ArrayList<>();
+        Polynomial polynomial = null;
+        int polynomialIndex = 0;
+        for ( int i = 0; i < numberOfFunctions ; i++ ){
+            Function term = simplifiedOf(multiSumFunctions[i]);
+            Polynomial p = Polynomial.of(term);
+            if ( p == null )
+                terms.add(term);
+            else if ( polynomial == null ){
+                polynomial = p;
+                polynomialIndex = terms.size();
+            }
+            else
+                polynomial = polynomial.add(p);
+        }
+        if ( polynomial != null && !Constant.is(polynomial.simplify(), 0) )
+            terms.add(polynomialIndex, polynomial.simplify());
+        if ( terms.isEmpty() )
+            return new Constant(0);
+        if ( terms.size() == 1 )
+            return terms.get(0);
+        Function[] simplified = terms.toArray(new Function[0]);
+        return Arrays.equals(simplified, multiSumFunctions) ? this : new MultiSum(simplified);
+    }
+    /**
+     * Appends a string representation of the sum of the functions.
+     * The functions are enclosed in parentheses and separated by addition signs.
+     * @param builder the StringBuilder to append to
+     * @param limit the length of the builder after which children are elided
+     */
+    @Override
+    void appendTo(StringBuilder builder, int limit){
+        builder.append('(');
+        for ( int i = 0; i < numberOfFunctions && builder.length() < limit ; i++ ){
+            append(builder, multiSumFunctions[i], limit);
+            if ( i != numberOfFunctions - 1 )
+                builder.append(" + ");
+        }
+        builder.append(')');
+    }
+    /**
+     * Returns the derivative of the sum of the functions.
+     * The derivative is computed by taking the derivative of each function separately.
+     * @return the derivative of the sum of the functions
+     */
+    @Override
+    public Function derivative() {
+        Function[] derivatives = new Function[ numberOfFunctions ];
+        for ( int i = 0; i < numberOfFunctions ; i++ ){
+            derivatives[i] = derivativeOf(multiSumFunctions[i]);
+        }
+        return new MultiSum( derivatives );
+    }
+}
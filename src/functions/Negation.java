@@ -0,0 +1,142 @@
+package functions;
+
+/**
+ * The Negation class represents the negation of a function.
+ * It extends the Function class.
+ */
+public class Negation extends Function{
+    private final Function f;
+    /**
+     * Constructs a Negation object with the specified function.
+     * @param f the function to be negated
+     */
+    public Negation(Function f){
+        this.f = f;
+    }
+    /**
+     * Returns the negation of the function at a given input.
+     * @param x the input value
+     * @return the negation of the function
+     */
+    @Override
+    public double valueAt(double x){
+        return -f.valueAt(x);
+    }
+    /**
+     * Returns the negation of the function at a point of several variables.
+     * @param point the values of the variables
+     * @return the negation of the function at the point
+     */
+    @Override
+    public double valueAtPoint(double[] point){
+        return -f.valueAtPoint(point);
+    }
+    /**
+     * Calculates the value and the derivative of the negation in one pass over the tree,
+     * with the dual-number rules of JetEvaluator.
+     * @param x the input value
+     * @return a new array holding the value and the derivative at x
+     */
+    @Override
+    public double[] valueAndDerivativeAt(double x){
+        double[] a = f.valueAndDerivativeAt(x);
+        a[0] = -a[0];
+        a[1] = -a[1];
+        return a;
+    }
+    /**
+     * Returns the negation of the function at a block of inputs.
+     * @param xs the input values
+     * @param out the array the negated values are written to
+     */
+    @Override
+    public void valueAt(double[] xs, double[] out){
+        f.valueAt(xs, out);
+        for ( int i = 0 ; i < xs.length ; i++ ){
+            out[i] = -out[i];
+        }
+    }
+    /**
+     * Returns an interval containing every value of the negation of the function for x in the given interval.
+     * @param x the interval of inputs
+     * @return an enclosure of the range of the negation of the function
+     */
+    @Override
+    public Interval rangeOver(Interval x){
+        return f.rangeOver(x).negate();
+    }
+    /**
+     * Emits the code that computes this node.
+     * @param emitter the emitter to emit the code to
+     */
+    @Override
+    void compileTo(Emitter emitter){
+        emitter.emit(f);
+        emitter.negate();
+    }
+    /**
+     * Returns the negated function.
+     * @return the function f
+     */
+    @Override
+    Function[] children(){
+        return new Function[]{ f };
+    }
+    /**
+     * Returns a new Negation of the given function.
+     * @param children the function f
+     * @return the new Negation
+     */
+    @Override
+    Function withChildren(Function[] children){
+        return new Negation(children[0]);
+    }
+    /**
+     * A Negation holds no data besides its function.
+     * @param other another Negation
+     * @return true
+     */
+    @Override
+    boolean sameData(Function other){
+        return true;
+    }
+    @Override
+    int dataHash(){
+        return 0;
+    }
+    /**
+     * Simplifies the negated function, cancelling double negations and negating constants and polynomials.
+     * @return the simplified negation
+     */
+    @Override
+    public Function simplify(){
+        Function a = simplifiedOf(f);
+        if ( a instanceof Negation )
+            return ((Negation) a).f;
+        Polynomial p = Polynomial.of(a);
+        if ( p != null )
+            return p.negate().simplify();
+        return a == f ? this : new Negation(a);
+    }
+    /**
+     * Appends a string representation of the negation of the function.
+     * The function is enclosed in parentheses and prefixed with a negative sign.
+     * @param builder the StringBuilder to append to
+     * @param limit the length of the builder after which children are elided
+     */
+    @Override
+    void appendTo(StringBuilder builder, int limit){
+        builder.append("(-");
+        append(builder, f, limit);
+        builder.append(')');
+    }
+    /**
+     * Returns the derivative of the negation of the function.
+     * The derivative is computed by taking the derivative of the inner function and negating it.
+     * @return the derivative of the negation of the function
+     */
+    @Override
+    public Function derivative(){
+        return new Negation(derivativeOf(f));
+    }
+}
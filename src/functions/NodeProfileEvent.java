@@ -0,0 +1,35 @@
+package functions;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * The NodeProfileEvent class is the JFR event emitted by Profiler.commitEvents,
+ * one event per node of a profiled function with the metrics of the node.
+ * It is enabled by default in a recording and can be turned off with functions.NodeProfile#enabled=false.
+ */
+@Name("functions.NodeProfile")
+@Label("Function Node Profile")
+@Category("Functions")
+@Description("Evaluation metrics of one node of a profiled function")
+@StackTrace(false)
+final class NodeProfileEvent extends jdk.jfr.Event {
+    @Label("Node")
+    String node;
+    @Label("Calls")
+    long calls;
+    @Label("Total Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long totalNanos;
+    @Label("Self Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long selfNanos;
+    @Label("NaN Results")
+    long nans;
+    @Label("Infinite Results")
+    long infinities;
+}
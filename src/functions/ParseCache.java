@@ -0,0 +1,81 @@
+package functions;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The ParseCache class parses functions with FunctionParser and keeps the most recently used results,
+ * so that an expression that arrives again and again is parsed only once.
+ * The least recently used entry is dropped when the cache is full.
+ * Parsing happens outside the lock, so threads parsing different expressions do not wait for each other.
+ * The cached functions are shared by all callers, which is safe because functions are immutable.
+ */
+public final class ParseCache {
+    private final Map<String, Function> entries;
+    private long hits;
+    private long misses;
+
+    /**
+     * Constructs an empty ParseCache.
+     * @param capacity the largest number of functions kept
+     */
+    public ParseCache(int capacity){
+        if ( capacity < 1 )
+            throw new IllegalArgumentException("capacity must be positive");
+        this.entries = new LinkedHashMap<>(16, 0.75f, true){
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Function> eldest){
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns the function for the text, parsing it only if it is not in the cache.
+     * @param source the text of the function
+     * @return the function
+     * @throws IllegalArgumentException if the text is not a valid function
+     */
+    public Function parse(String source){
+        synchronized (entries) {
+            Function function = entries.get(source);
+            if ( function != null ){
+                hits++;
+                return function;
+            }
+        }
+        Function function = FunctionParser.parse(source);
+        synchronized (entries) {
+            misses++;
+            Function existing = entries.putIfAbsent(source, function);
+            return existing != null ? existing : function;
+        }
+    }
+    /**
+     * Returns the number of functions in the cache.
+     * @return the number of cached functions
+     */
+    public int size(){
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+    /**
+     * Returns the number of calls to parse that were answered from the cache.
+     * @return the number of hits
+     */
+    public long getHits(){
+        synchronized (entries) {
+            return hits;
+        }
+    }
+    /**
+     * Returns the number of calls to parse that had to parse the text.
+     * @return the number of misses
+     */
+    public long getMisses(){
+        synchronized (entries) {
+            return misses;
+        }
+    }
+}
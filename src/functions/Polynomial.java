@@ -0,0 +1,901 @@
+package functions;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Represents a polynomial function.
+ */
+public class Polynomial extends Function {
+    /**
+     * The schemes a polynomial can be evaluated with.
+     */
+    public enum Evaluation {
+        /**
+         * Horner's rule, one multiplication and one addition per coefficient.
+         */
+        HORNER,
+        /**
+         * Estrin's scheme on blocks of four coefficients, combined by Horner's rule in x^4.
+         * The two halves of every block do not depend on each other and can run in parallel.
+         */
+        ESTRIN,
+        /**
+         * Horner's rule over the nonzero terms only, the gaps between them are bridged
+         * by powers of x computed by repeated squaring.
+         */
+        SPARSE
+    }
+
+    /**
+     * The lowest degree for which Estrin's scheme is chosen by default.
+     */
+    private static final int ESTRIN_MIN_DEGREE = 12;
+    /**
+     * The largest number of Aberth-Ehrlich sweeps over all roots.
+     */
+    private static final int MAX_ROOT_ITERATIONS = 500;
+    /**
+     * The number of coefficients both factors need for multiply to use Karatsuba's method.
+     */
+    private static final int KARATSUBA_MIN_COEFFICIENTS = 64;
+    /**
+     * The highest degree normalize expands a Power of a polynomial to.
+     */
+    private static final int MAX_NORMALIZED_DEGREE = 4096;
+
+    private final double[] coefficients;
+    private final int numberOfCoefficients;
+    private final int degree;
+    private final Evaluation evaluation;
+    private final int[] sparseExponents;
+    private final double[] sparseCoefficients;
+
+    /**
+     * Constructs a new Polynomial object with the given coefficients.
+     * The evaluation scheme is chosen from the coefficients: sparse when at most half
+     * of the terms up to the degree are nonzero, Estrin's scheme for high degrees
+     * and Horner's rule otherwise.
+     * @param coefficients the coefficients of the polynomial function
+     */
+    public Polynomial(double... coefficients){
+        this(null, coefficients);
+    }
+
+    /**
+     * Constructs a new Polynomial object with the given evaluation scheme and coefficients.
+     * @param evaluation the evaluation scheme, or null to choose it from the coefficients
+     * @param coefficients the coefficients of the polynomial function
+     */
+    public Polynomial(Evaluation evaluation, double... coefficients){
+        this.numberOfCoefficients = coefficients.length;
+        this.coefficients = new double[numberOfCoefficients];
+        int nonzeroTerms = 0;
+        int highestNonzero = 0;
+        for (int i = 0; i < numberOfCoefficients; i++){
+            this.coefficients[i] = coefficients[i];
+            if ( coefficients[i] != 0.0 ){
+                nonzeroTerms++;
+                highestNonzero = i;
+            }
+        }
+        this.degree = highestNonzero;
+        if ( evaluation == null ){
+            if ( nonzeroTerms > 0 && nonzeroTerms * 2 <= degree )
+                evaluation = Evaluation.SPARSE;
+            else if ( degree >= ESTRIN_MIN_DEGREE )
+                evaluation = Evaluation.ESTRIN;
+            else
+                evaluation = Evaluation.HORNER;
+        }
+        this.evaluation = evaluation;
+        if ( evaluation == Evaluation.SPARSE ){
+            this.sparseExponents = new int[Math.max(nonzeroTerms, 1)];
+            this.sparseCoefficients = new double[sparseExponents.length];
+            int term = 0;
+            for (int i = 0; i <= degree && term < nonzeroTerms; i++){
+                if ( this.coefficients[i] != 0.0 ){
+                    sparseExponents[term] = i;
+                    sparseCoefficients[term] = this.coefficients[i];
+                    term++;
+                }
+            }
+        } else {
+            this.sparseExponents = null;
+            this.sparseCoefficients = null;
+        }
+    }
+
+    /**
+     * Computes the value of the polynomial function at the given input.
+     * @param x the input value
+     * @return the result of evaluating the polynomial function at the given input
+     */
+    @Override
+    public double valueAt(double x) {
+        switch (evaluation){
+            case ESTRIN:
+                return estrinValueAt(x);
+            case SPARSE:
+                return sparseValueAt(x);
+            default:
+                return hornerValueAt(x);
+        }
+    }
+
+    private double hornerValueAt(double x) {
+        double result = coefficient(degree);
+        for (int i = degree - 1; i >= 0; i-- ){
+            result = result * x + coefficients[i];
+        }
+        return result;
+    }
+
+    private double estrinValueAt(double x) {
+        double x2 = x * x;
+        double x4 = x2 * x2;
+        int i = degree - degree % 4;
+        double result = estrinBlock(i, x, x2);
+        for (i -= 4; i >= 0; i -= 4 ){
+            result = result * x4 + estrinBlock(i, x, x2);
+        }
+        return result;
+    }
+
+    private double estrinBlock(int i, double x, double x2) {
+        return (coefficient(i) + coefficient(i + 1) * x) + (coefficient(i + 2) + coefficient(i + 3) * x) * x2;
+    }
+
+    private double sparseValueAt(double x) {
+        int last = sparseExponents.length - 1;
+        double result = sparseCoefficients[last];
+        for (int k = last - 1; k >= 0; k-- ){
+            result = result * power(x, sparseExponents[k + 1] - sparseExponents[k]) + sparseCoefficients[k];
+        }
+        if ( sparseExponents[0] > 0 )
+            result *= power(x, sparseExponents[0]);
+        return result;
+    }
+
+    /**
+     * Returns the coefficient of x^i, which is 0 past the last coefficient.
+     * @param i the exponent
+     * @return the coefficient of x^i
+     */
+    private double coefficient(int i) {
+        return i < numberOfCoefficients ? coefficients[i] : 0.0;
+    }
+
+    /**
+     * Raises x to a positive integer power by repeated squaring.
+     * @param x the base
+     * @param n the exponent, at least 1
+     * @return x^n
+     */
+    static double power(double x, int n) {
+        while ( (n & 1) == 0 ){
+            x *= x;
+            n >>= 1;
+        }
+        double result = x;
+        for (n >>= 1; n > 0; n >>= 1 ){
+            x *= x;
+            if ( (n & 1) != 0 )
+                result *= x;
+        }
+        return result;
+    }
+
+    /**
+     * Computes the values of the polynomial function at a block of inputs.
+     * Horner's rule runs one coefficient at a time over the whole block,
+     * the other schemes run point by point.
+     * @param xs the input values
+     * @param out the array the results are written to
+     */
+    @Override
+    public void valueAt(double[] xs, double[] out) {
+        if ( evaluation != Evaluation.HORNER ){
+            for (int j = 0; j < xs.length; j++ ){
+                out[j] = valueAt(xs[j]);
+            }
+            return;
+        }
+        for (int j = 0; j < xs.length; j++ ){
+            out[j] = coefficient(degree);
+        }
+        for (int i = degree - 1; i >= 0; i-- ){
+            double coefficient = coefficients[i];
+            for (int j = 0; j < xs.length; j++ ){
+                out[j] = out[j] * xs[j] + coefficient;
+            }
+        }
+    }
+    /**
+     * Returns an interval containing every value of the polynomial for x in the given interval.
+     * Horner's rule and the sum of the terms overestimate the range in different ways,
+     * so the range is the intersection of both: the sum of the terms is exact for a single even
+     * power of an interval around 0, where Horner's rule multiplies x by itself as if the
+     * two factors were independent.
+     * @param x the interval of inputs
+     * @return an enclosure of the range of the polynomial
+     */
+    @Override
+    public Interval rangeOver(Interval x) {
+        Interval horner = Interval.point(coefficient(degree));
+        for (int i = degree - 1; i >= 0; i-- ){
+            horner = horner.multiply(x).add(Interval.point(coefficients[i]));
+        }
+        Interval terms = Interval.point(coefficient(0));
+        for (int i = 1; i <= degree; i++ ){
+            if ( coefficients[i] != 0.0 )
+                terms = terms.add(x.pow(i).multiply(Interval.point(coefficients[i])));
+        }
+        return horner.intersect(terms);
+    }
+
+    /**
+     * Returns the coefficients of the polynomial, starting with the constant term.
+     * @return a copy of the coefficients
+     */
+    public double[] getCoefficients() {
+        return coefficients.clone();
+    }
+
+    /**
+     * Returns the evaluation scheme of the polynomial.
+     * @return the evaluation scheme
+     */
+    public Evaluation getEvaluation() {
+        return evaluation;
+    }
+
+    /**
+     * Emits the code that computes the polynomial with the same scheme and operation order as valueAt.
+     * @param emitter the emitter to emit the code to
+     */
+    @Override
+    void compileTo(Emitter emitter) {
+        switch (evaluation){
+            case ESTRIN:
+                compileEstrin(emitter);
+                break;
+            case SPARSE:
+                compileSparse(emitter);
+                break;
+            default:
+                emitter.constant(coefficient(degree));
+                for (int i = degree - 1; i >= 0; i-- ){
+                    emitter.variable();
+                    emitter.multiply();
+                    emitter.constant(coefficients[i]);
+                    emitter.add();
+                }
+        }
+    }
+
+    private void compileEstrin(Emitter emitter) {
+        emitter.variable();
+        emitter.variable();
+        emitter.multiply();
+        int x2 = emitter.store();
+        emitter.load(x2);
+        emitter.load(x2);
+        emitter.multiply();
+        int x4 = emitter.store();
+        int i = degree - degree % 4;
+        compileEstrinBlock(emitter, i, x2);
+        for (i -= 4; i >= 0; i -= 4 ){
+            emitter.load(x4);
+            emitter.multiply();
+            compileEstrinBlock(emitter, i, x2);
+            emitter.add();
+        }
+    }
+
+    private void compileEstrinBlock(Emitter emitter, int i, int x2) {
+        emitter.constant(coefficient(i));
+        emitter.constant(coefficient(i + 1));
+        emitter.variable();
+        emitter.multiply();
+        emitter.add();
+        emitter.constant(coefficient(i + 2));
+        emitter.constant(coefficient(i + 3));
+        emitter.variable();
+        emitter.multiply();
+        emitter.add();
+        emitter.load(x2);
+        emitter.multiply();
+        emitter.add();
+    }
+
+    private void compileSparse(Emitter emitter) {
+        int last = sparseExponents.length - 1;
+        emitter.constant(sparseCoefficients[last]);
+        for (int k = last - 1; k >= 0; k-- ){
+            compilePower(emitter, sparseExponents[k + 1] - sparseExponents[k]);
+            emitter.multiply();
+            emitter.constant(sparseCoefficients[k]);
+            emitter.add();
+        }
+        if ( sparseExponents[0] > 0 ){
+            compilePower(emitter, sparseExponents[0]);
+            emitter.multiply();
+        }
+    }
+
+    /**
+     * Emits the same sequence of squarings and multiplications as power.
+     * @param emitter the emitter to emit the code to
+     * @param n the exponent, at least 1
+     */
+    private static void compilePower(Emitter emitter, int n) {
+        emitter.variable();
+        int square = emitter.store();
+        while ( (n & 1) == 0 ){
+            emitter.load(square);
+            emitter.load(square);
+            emitter.multiply();
+            square = emitter.store();
+            n >>= 1;
+        }
+        emitter.load(square);
+        for (n >>= 1; n > 0; n >>= 1 ){
+            emitter.load(square);
+            emitter.load(square);
+            emitter.multiply();
+            square = emitter.store();
+            if ( (n & 1) != 0 ){
+                emitter.load(square);
+                emitter.multiply();
+            }
+        }
+    }
+
+    /**
+     * Compares the coefficients and evaluation schemes of two polynomials.
+     * @param other another Polynomial
+     * @return true if the coefficients and the evaluation schemes are equal
+     */
+    @Override
+    boolean sameData(Function other) {
+        Polynomial polynomial = (Polynomial) other;
+        return evaluation == polynomial.evaluation && Arrays.equals(coefficients, polynomial.coefficients);
+    }
+    @Override
+    int dataHash() {
+        return Arrays.hashCode(coefficients);
+    }
+
+    /**
+     * Removes trailing zero coefficients, a polynomial of degree 0 becomes a Constant.
+     * @return the simplified polynomial
+     */
+    @Override
+    public Function simplify() {
+        if ( degree == 0 )
+            return new Constant(coefficient(0));
+        if ( numberOfCoefficients > degree + 1 )
+            return new Polynomial(Arrays.copyOf(coefficients, degree + 1));
+        return this;
+    }
+
+    /**
+     * Returns the polynomial equal to a Constant or Polynomial function.
+     * @param function the function to convert
+     * @return the polynomial, or null if the function is neither a Constant nor a Polynomial
+     */
+    static Polynomial of(Function function) {
+        if ( function instanceof Polynomial )
+            return (Polynomial) function;
+        if ( function instanceof Constant )
+            return new Polynomial(((Constant) function).y);
+        return null;
+    }
+
+    /**
+     * Adds two polynomials coefficient by coefficient.
+     * @param other the polynomial to add
+     * @return the sum of the polynomials as a new Polynomial object
+     */
+    public Polynomial add(Polynomial other) {
+        double[] sum = new double[Math.max(degree, other.degree) + 1];
+        for (int i = 0; i < sum.length; i++ ){
+            sum[i] = coefficient(i) + other.coefficient(i);
+        }
+        return new Polynomial(sum);
+    }
+
+    /**
+     * Negates every coefficient of the polynomial.
+     * @return the negated polynomial
+     */
+    Polynomial negate() {
+        double[] negated = new double[degree + 1];
+        for (int i = 0; i <= degree; i++ ){
+            negated[i] = -coefficient(i);
+        }
+        return new Polynomial(negated);
+    }
+
+    /**
+     * Divides every coefficient of the polynomial by a number.
+     * @param divisor the number to divide by
+     * @return the divided polynomial
+     */
+    Polynomial divide(double divisor) {
+        double[] quotient = new double[degree + 1];
+        for (int i = 0; i <= degree; i++ ){
+            quotient[i] = coefficient(i) / divisor;
+        }
+        return new Polynomial(quotient);
+    }
+
+    /**
+     * Multiplies two polynomials. When both have at least KARATSUBA_MIN_COEFFICIENTS coefficients
+     * the product is computed by Karatsuba's method, otherwise term by term, skipping zero terms.
+     * @param other the polynomial to multiply by
+     * @return the product of the polynomials as a new Polynomial object
+     */
+    public Polynomial multiply(Polynomial other) {
+        if ( Math.min(degree, other.degree) + 1 >= KARATSUBA_MIN_COEFFICIENTS ){
+            double[] product = new double[degree + other.degree + 1];
+            karatsuba(coefficients, 0, degree + 1, other.coefficients, 0, other.degree + 1, product, 0);
+            return new Polynomial(product);
+        }
+        double[] product = new double[degree + other.degree + 1];
+        for (int i = 0; i <= degree; i++ ){
+            double coefficient = coefficient(i);
+            if ( coefficient == 0.0 )
+                continue;
+            for (int j = 0; j <= other.degree; j++ ){
+                product[i + j] += coefficient * other.coefficient(j);
+            }
+        }
+        return new Polynomial(product);
+    }
+
+    /**
+     * Adds the product of a[aFrom..aFrom+n) and b[bFrom..bFrom+m) to out from index outFrom.
+     * The longer operand is cut into pieces as long as the shorter one, and pieces of equal length
+     * are multiplied by splitting them in halves low and high and computing three products,
+     * low * low, high * high and (low + high) * (low + high), instead of four.
+     */
+    private static void karatsuba(double[] a, int aFrom, int n, double[] b, int bFrom, int m, double[] out, int outFrom) {
+        if ( n < m ){
+            karatsuba(b, bFrom, m, a, aFrom, n, out, outFrom);
+            return;
+        }
+        if ( m < KARATSUBA_MIN_COEFFICIENTS ){
+            for (int i = 0; i < n; i++ ){
+                double coefficient = a[aFrom + i];
+                for (int j = 0; j < m; j++ ){
+                    out[outFrom + i + j] += coefficient * b[bFrom + j];
+                }
+            }
+            return;
+        }
+        if ( n > m ){
+            for (int i = 0; i < n; i += m ){
+                karatsuba(a, aFrom + i, Math.min(m, n - i), b, bFrom, m, out, outFrom + i);
+            }
+            return;
+        }
+        int half = n / 2;
+        int high = n - half;
+        double[] low2 = new double[2 * half - 1];
+        double[] high2 = new double[2 * high - 1];
+        karatsuba(a, aFrom, half, b, bFrom, half, low2, 0);
+        karatsuba(a, aFrom + half, high, b, bFrom + half, high, high2, 0);
+        double[] aSum = new double[high];
+        double[] bSum = new double[high];
+        for (int i = 0; i < high; i++ ){
+            aSum[i] = a[aFrom + half + i] + (i < half ? a[aFrom + i] : 0.0);
+            bSum[i] = b[bFrom + half + i] + (i < half ? b[bFrom + i] : 0.0);
+        }
+        double[] middle = new double[2 * high - 1];
+        karatsuba(aSum, 0, high, bSum, 0, high, middle, 0);
+        for (int i = 0; i < low2.length; i++ ){
+            out[outFrom + i] += low2[i];
+            middle[i] -= low2[i];
+        }
+        for (int i = 0; i < high2.length; i++ ){
+            out[outFrom + 2 * half + i] += high2[i];
+            middle[i] -= high2[i];
+        }
+        for (int i = 0; i < middle.length; i++ ){
+            out[outFrom + half + i] += middle[i];
+        }
+    }
+
+    /**
+     * Raises the polynomial to a power by repeated squaring.
+     * @param exponent the exponent, at least 0
+     * @return the power of the polynomial as a new Polynomial object
+     * @throws IllegalArgumentException if the exponent is negative
+     */
+    public Polynomial pow(int exponent) {
+        if ( exponent < 0 )
+            throw new IllegalArgumentException("negative exponent " + exponent);
+        Polynomial result = null;
+        Polynomial square = this;
+        for (int n = exponent; n > 0; n >>= 1 ){
+            if ( (n & 1) == 1 )
+                result = result == null ? square : result.multiply(square);
+            if ( n > 1 )
+                square = square.multiply(square);
+        }
+        return result == null ? new Polynomial(1) : result;
+    }
+
+    /**
+     * Shifts the polynomial by a number with the Taylor shift, the Horner scheme
+     * repeated on the remaining coefficients, which takes O(degree^2) operations.
+     * The coefficients of the result are the Taylor coefficients of the polynomial around c.
+     * @param c the number to shift by
+     * @return the polynomial whose value at x is the value of this polynomial at x + c
+     */
+    public Polynomial shift(double c) {
+        double[] shifted = Arrays.copyOf(coefficients, degree + 1);
+        if ( c != 0.0 ){
+            for (int i = 0; i < degree; i++ ){
+                for (int j = degree - 1; j >= i; j-- ){
+                    shifted[j] += c * shifted[j + 1];
+                }
+            }
+        }
+        return new Polynomial(shifted);
+    }
+
+    /**
+     * Composes two polynomials, substituting the other polynomial for x by Horner's rule.
+     * @param inner the polynomial to substitute for x
+     * @return the polynomial whose value at x is the value of this polynomial at inner(x)
+     */
+    public Polynomial compose(Polynomial inner) {
+        Polynomial result = new Polynomial(coefficient(degree));
+        for (int i = degree - 1; i >= 0; i-- ){
+            result = result.multiply(inner).add(new Polynomial(coefficients[i]));
+        }
+        return result;
+    }
+
+    /**
+     * Collapses every subtree built only from Constant and Polynomial nodes with Sum, MultiSum,
+     * Difference, Negation, Product, MultiProduct, Power with a nonnegative exponent and Quotient
+     * by a Constant into a single Polynomial. Unlike simplify, nodes that cannot be collapsed
+     * are kept as they are, with their collapsed subtrees. Shared subtrees are collapsed once
+     * and stay shared. A Power whose result would have a degree above MAX_NORMALIZED_DEGREE is kept.
+     * The expanded polynomial is much cheaper to evaluate and differentiate, but where its terms
+     * are much larger than its value, cancellation can cost it more accuracy than the tree had.
+     * @param function the function to normalize
+     * @return the normalized function, or the function itself if nothing could be collapsed
+     */
+    public static Function normalize(Function function) {
+        return normalize(function, new IdentityHashMap<>());
+    }
+
+    private static Function normalize(Function function, Map<Function, Function> normalized) {
+        Function result = normalized.get(function);
+        if ( result != null )
+            return result;
+        Function[] children = function.children();
+        Function[] operands = new Function[children.length];
+        boolean changed = false;
+        for (int i = 0; i < children.length; i++ ){
+            operands[i] = normalize(children[i], normalized);
+            changed |= operands[i] != children[i];
+        }
+        result = children.length == 0 ? null : collapse(function, operands);
+        if ( result == null )
+            result = changed ? function.withChildren(operands) : function;
+        normalized.put(function, result);
+        return result;
+    }
+
+    /**
+     * Computes the polynomial equal to a node whose operands are Constant or Polynomial nodes.
+     * @return the polynomial, or null if an operand is neither or the node cannot be collapsed
+     */
+    private static Polynomial collapse(Function node, Function[] operands) {
+        Polynomial[] polynomials = new Polynomial[operands.length];
+        for (int i = 0; i < operands.length; i++ ){
+            polynomials[i] = of(operands[i]);
+            if ( polynomials[i] == null )
+                return null;
+        }
+        if ( node instanceof Sum || node instanceof MultiSum ){
+            Polynomial sum = polynomials[0];
+            for (int i = 1; i < polynomials.length; i++ ){
+                sum = sum.add(polynomials[i]);
+            }
+            return sum;
+        }
+        if ( node instanceof Product || node instanceof MultiProduct ){
+            Polynomial product = polynomials[0];
+            for (int i = 1; i < polynomials.length; i++ ){
+                product = product.multiply(polynomials[i]);
+            }
+            return product;
+        }
+        if ( node instanceof Difference )
+            return polynomials[0].add(polynomials[1].negate());
+        if ( node instanceof Negation )
+            return polynomials[0].negate();
+        if ( node instanceof Quotient && operands[1] instanceof Constant )
+            return polynomials[0].divide(((Constant) operands[1]).y);
+        if ( node instanceof PowerDerivative ){
+            int exponent = ((PowerDerivative) node).getExponent();
+            if ( exponent >= 1 && (long) polynomials[0].degree * (exponent - 1) <= MAX_NORMALIZED_DEGREE )
+                return polynomials[0].pow(exponent - 1).multiply(polynomials[1]).multiply(new Polynomial(exponent));
+        }
+        if ( node instanceof Power ){
+            int exponent = ((Power) node).getExponent();
+            if ( exponent >= 0 && (long) polynomials[0].degree * exponent <= MAX_NORMALIZED_DEGREE )
+                return polynomials[0].pow(exponent);
+        }
+        return null;
+    }
+
+    /**
+     * Computes all real and complex roots of the polynomial, repeated roots as often as their multiplicity,
+     * by the Aberth-Ehrlich method: every root estimate takes a Newton step corrected by
+     * the repulsion of the other estimates, and all estimates converge together.
+     * Roots whose imaginary part is negligible compared to their size are returned as real numbers.
+     * Polynomials of degree 1 and 2 are solved in closed form.
+     * @return the roots sorted by real part, then by imaginary part
+     */
+    public Complex[] roots() {
+        int zeroRoots = 0;
+        while ( zeroRoots < degree && coefficient(zeroRoots) == 0.0 ){
+            zeroRoots++;
+        }
+        int n = degree - zeroRoots;
+        double[] a = new double[n + 1];
+        for (int i = 0; i <= n; i++ ){
+            a[i] = coefficient(i + zeroRoots);
+        }
+        double[] re = new double[n];
+        double[] im = new double[n];
+        if ( n <= 2 )
+            return sortedRoots(zeroRoots, closedFormRoots(a, re, im), re, im);
+        double radius = 0;
+        for (int i = 0; i < n; i++ ){
+            radius = Math.max(radius, Math.pow(Math.abs(a[i] / a[n]), 1.0 / (n - i)));
+        }
+        radius = Math.max(radius, Double.MIN_NORMAL);
+        for (int k = 0; k < n; k++ ){
+            double angle = 2 * Math.PI * k / n + 0.4;
+            re[k] = radius * Math.cos(angle);
+            im[k] = radius * Math.sin(angle);
+        }
+        for (int iteration = 0; iteration < MAX_ROOT_ITERATIONS; iteration++ ){
+            boolean converged = true;
+            for (int k = 0; k < n; k++ ){
+                // p(z) and p'(z) by Horner's rule in complex arithmetic
+                double pRe = a[n], pIm = 0, dRe = 0, dIm = 0;
+                for (int i = n - 1; i >= 0; i-- ){
+                    double t = dRe * re[k] - dIm * im[k] + pRe;
+                    dIm = dRe * im[k] + dIm * re[k] + pIm;
+                    dRe = t;
+                    t = pRe * re[k] - pIm * im[k] + a[i];
+                    pIm = pRe * im[k] + pIm * re[k];
+                    pRe = t;
+                }
+                if ( pRe == 0 && pIm == 0 )
+                    continue;
+                // w = p / p'
+                double dNorm = dRe * dRe + dIm * dIm;
+                double wRe = (pRe * dRe + pIm * dIm) / dNorm;
+                double wIm = (pIm * dRe - pRe * dIm) / dNorm;
+                // s = sum of 1 / (z_k - z_j) over the other estimates
+                double sRe = 0, sIm = 0;
+                for (int j = 0; j < n; j++ ){
+                    if ( j == k )
+                        continue;
+                    double xRe = re[k] - re[j];
+                    double xIm = im[k] - im[j];
+                    double xNorm = xRe * xRe + xIm * xIm;
+                    sRe += xRe / xNorm;
+                    sIm -= xIm / xNorm;
+                }
+                // offset = w / (1 - w * s)
+                double qRe = 1 - (wRe * sRe - wIm * sIm);
+                double qIm = -(wRe * sIm + wIm * sRe);
+                double qNorm = qRe * qRe + qIm * qIm;
+                double oRe = (wRe * qRe + wIm * qIm) / qNorm;
+                double oIm = (wIm * qRe - wRe * qIm) / qNorm;
+                if ( !Double.isFinite(oRe) || !Double.isFinite(oIm) )
+                    continue;
+                re[k] -= oRe;
+                im[k] -= oIm;
+                if ( Math.hypot(oRe, oIm) > 4 * Math.ulp(1.0) * Math.hypot(re[k], im[k]) )
+                    converged = false;
+            }
+            if ( converged )
+                break;
+        }
+        return sortedRoots(zeroRoots, false, re, im);
+    }
+
+    /**
+     * Solves a polynomial of degree 0, 1 or 2 in closed form, using the numerically stable
+     * form of the quadratic formula.
+     * @param a the coefficients
+     * @param re receives the real parts of the roots
+     * @param im receives the imaginary parts of the roots
+     * @return true, the roots are exact up to rounding
+     */
+    private static boolean closedFormRoots(double[] a, double[] re, double[] im) {
+        if ( a.length == 2 ){
+            re[0] = -a[0] / a[1];
+        } else if ( a.length == 3 ){
+            double discriminant = a[1] * a[1] - 4 * a[2] * a[0];
+            if ( discriminant >= 0 ){
+                double q = -0.5 * (a[1] + Math.copySign(Math.sqrt(discriminant), a[1]));
+                re[0] = q / a[2];
+                re[1] = q == 0 ? 0 : a[0] / q;
+            } else {
+                re[0] = re[1] = -a[1] / (2 * a[2]);
+                im[0] = Math.sqrt(-discriminant) / (2 * a[2]);
+                im[1] = -im[0];
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Collects the roots found at 0 and the given estimates, sorted by real part and then imaginary part.
+     * @param zeroRoots the number of roots at 0
+     * @param exact whether the imaginary parts are exact, otherwise negligible ones are dropped
+     * @param re the real parts of the other roots
+     * @param im the imaginary parts of the other roots
+     * @return the sorted roots
+     */
+    private static Complex[] sortedRoots(int zeroRoots, boolean exact, double[] re, double[] im) {
+        Complex[] roots = new Complex[zeroRoots + re.length];
+        for (int i = 0; i < zeroRoots; i++ ){
+            roots[i] = new Complex(0, 0);
+        }
+        for (int k = 0; k < re.length; k++ ){
+            boolean real = exact ? im[k] == 0 : Math.abs(im[k]) <= 1e-10 * Math.max(1, Math.abs(re[k]));
+            roots[zeroRoots + k] = new Complex(re[k], real ? 0 : im[k]);
+        }
+        Arrays.sort(roots, Comparator.comparingDouble(Complex::getReal).thenComparingDouble(Complex::getImaginary));
+        return roots;
+    }
+
+    /**
+     * Computes the roots of many polynomials in parallel on the common ForkJoinPool.
+     * @param polynomials the polynomials to solve
+     * @return the roots of every polynomial, in the order of the list
+     */
+    public static Complex[][] roots(List<Polynomial> polynomials) {
+        return roots(polynomials, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Computes the roots of many polynomials in parallel on the given ForkJoinPool.
+     * @param polynomials the polynomials to solve
+     * @param pool the pool to run on
+     * @return the roots of every polynomial, in the order of the list
+     */
+    public static Complex[][] roots(List<Polynomial> polynomials, ForkJoinPool pool) {
+        return pool.submit(() -> polynomials.parallelStream().map(Polynomial::roots).toArray(Complex[][]::new)).join();
+    }
+
+    /**
+     * Appends a string representation of the polynomial function in the format "(a0 + a1x + a2x^2 + ...)".
+     * @param builder the StringBuilder to append to
+     * @param limit the length of the builder after which children are elided
+     */
+    @Override
+    void appendTo(StringBuilder builder, int limit) {
+        builder.append('(');
+        boolean firstCoefficientPrinted = false;
+        for (int i = 0; i < numberOfCoefficients && builder.length() < limit; i++ ){
+            if ( this.coefficients[i] != 0.0 ){
+                if ( coefficients[i] > 0.0 ) {
+                    if ( firstCoefficientPrinted )
+                        builder.append(" + ");
+                }
+                else if ( firstCoefficientPrinted )
+                    builder.append(" - ");
+                else
+                    builder.append("-");
+
+                if ( i != 0 ) {
+                    if ((coefficients[i] == 1.0 || coefficients[i] == -1.0)) {
+                        builder.append("x");
+                        firstCoefficientPrinted = true;
+                    } else if (coefficients[i] - (int) coefficients[i] == 0.0) {
+                        builder.append(Math.abs((int) coefficients[i])).append('x');
+                        firstCoefficientPrinted = true;
+                    } else{
+                        builder.append(Math.abs(coefficients[i])).append('x');
+                        firstCoefficientPrinted = true;
+                    }
+                }
+                else {
+                    if (coefficients[i] - (int) coefficients[i] == 0.0) {
+                        builder.append(Math.abs((int) coefficients[i]));
+                        firstCoefficientPrinted = true;
+                    } else {
+                        builder.append(Math.abs(coefficients[i]));
+                        firstCoefficientPrinted = true;
+                    }
+                }
+
+
+                if ( i != 0 && i != 1 )
+                    builder.append('^').append(i);
+                }
+            }
+        if ( !firstCoefficientPrinted )
+            builder.append('0');
+        builder.append(')');
+    }
+
+    /**
+     * Computes the derivative of the polynomial function.
+     * @return the derivative of the polynomial function as a new Function object
+     */
+    @Override
+    public Function derivative() {
+        double[] derivativedCoefficients = new double[numberOfCoefficients];
+        for ( int i = 0 ; i < numberOfCoefficients ; i++ ){
+            derivativedCoefficients[i] = coefficients[i];
+        }
+        for (int i = 0; i < numberOfCoefficients -1 ; i++ ){
+            derivativedCoefficients[i] = derivativedCoefficients[i+1];
+            derivativedCoefficients[i] *= (i+1);
+        }
+        derivativedCoefficients[numberOfCoefficients -1] = 0;
+        return new Polynomial(derivativedCoefficients);
+    }
+
+    /**
+     * Computes the antiderivative of the polynomial function that is 0 at x = 0.
+     * @return the antiderivative of the polynomial function as a new Polynomial object
+     */
+    @Override
+    public Polynomial antiderivative() {
+        double[] antiderivativeCoefficients = new double[numberOfCoefficients + 1];
+        for ( int i = 0 ; i < numberOfCoefficients ; i++ ){
+            antiderivativeCoefficients[i + 1] = coefficients[i] / (i + 1);
+        }
+        return new Polynomial(antiderivativeCoefficients);
+    }
+    /**
+     * Calculates the value of the polynomial, as valueAt does, and its derivative by Horner's rule,
+     * without series arithmetic or allocation besides the result.
+     * @param x the input value
+     * @return a new array holding the value and the derivative at x
+     */
+    @Override
+    public double[] valueAndDerivativeAt(double x) {
+        double derivative = 0.0;
+        for (int i = degree; i >= 1; i-- ){
+            derivative = derivative * x + i * coefficient(i);
+        }
+        return new double[]{ valueAt(x), derivative };
+    }
+    /**
+     * Computes the Taylor coefficients of the polynomial around a given point by a Taylor shift,
+     * so they are exact up to rounding and cost no series arithmetic.
+     * The coefficients past the degree are 0, and the first one is the value at x.
+     * @param x the point to expand around
+     * @param n the highest derivative order
+     * @return a new array holding the k-th derivative at x divided by k! for k = 0..n
+     */
+    @Override
+    public double[] taylorCoefficientsAt(double x, int n) {
+        double[] taylorCoefficients = Arrays.copyOf(shift(x).coefficients, n + 1);
+        taylorCoefficients[0] = valueAt(x);
+        return taylorCoefficients;
+    }
+}
@@ -0,0 +1,281 @@
+package functions;
+
+/**
+ * Represents a function raised to an integer power.
+ * Exponents up to MAX_SQUARING_EXPONENT in absolute value are computed by repeated squaring,
+ * a negative exponent as 1 divided by the positive power, and larger exponents with Math.pow.
+ * Powers made by Power.of are Square and Cube nodes for the exponents 2 and 3,
+ * and RationalPower nodes for exponents that are fractions.
+ */
+public class Power extends Function{
+    /**
+     * The largest absolute exponent computed by repeated squaring. Every squaring can double
+     * the relative rounding error, so the error of a power grows with the exponent and
+     * larger exponents go to Math.pow, which is accurate to one ulp.
+     */
+    static final int MAX_SQUARING_EXPONENT = 64;
+
+    final Function base;
+    private final int exponent;
+
+    /**
+     * Constructs a new Power object with the given base and exponent.
+     * The node is a plain Power whatever the exponent; use Power.of to get a Square or a Cube
+     * for the exponents 2 and 3.
+     * @param base the base function
+     * @param exponent the exponent value
+     */
+    public Power(Function base, int exponent){
+        this.base = base;
+        this.exponent = exponent;
+    }
+    /**
+     * Returns the base raised to an integer power, as a Square or a Cube for the exponents 2 and 3.
+     * @param base the base function
+     * @param exponent the exponent value
+     * @return the power
+     */
+    public static Power of(Function base, int exponent){
+        switch (exponent){
+            case 2: return new Square(base);
+            case 3: return new Cube(base);
+            default: return new Power(base, exponent);
+        }
+    }
+    /**
+     * Returns the base raised to the power numerator / denominator, as a Power if the fraction is an integer.
+     * @param base the base function
+     * @param numerator the numerator of the exponent
+     * @param denominator the denominator of the exponent, positive
+     * @return the power
+     * @throws IllegalArgumentException if the denominator is not positive
+     */
+    public static Function of(Function base, int numerator, int denominator){
+        if ( denominator <= 0 )
+            throw new IllegalArgumentException("the denominator of an exponent must be positive, got " + denominator);
+        if ( numerator % denominator == 0 )
+            return of(base, numerator / denominator);
+        return new RationalPower(base, numerator, denominator);
+    }
+    /**
+     * Raises a number to an integer power by repeated squaring, with the same operations
+     * in the same order as the code emitted by compileTo.
+     * @param b the base
+     * @param n the exponent
+     * @return b^n
+     */
+    static double power(double b, int n){
+        if ( n > MAX_SQUARING_EXPONENT || n < -MAX_SQUARING_EXPONENT )
+            return Math.pow(b, n);
+        int m = Math.abs(n);
+        double result = 1;
+        double square = b;
+        while ( true ){
+            if ( (m & 1) != 0 )
+                result *= square;
+            m >>= 1;
+            if ( m == 0 )
+                break;
+            square *= square;
+        }
+        return n < 0 ? 1 / result : result;
+    }
+    /**
+     * Computes the value of the function raised to the specified exponent at the given input.
+     * @param x the input value
+     * @return the result of raising the base function to the exponent power at the given input
+     */
+    @Override
+    public double valueAt(double x){
+        return power(base.valueAt(x), exponent);
+    }
+    /**
+     * Returns the power of the base function at a point of several variables.
+     * @param point the values of the variables
+     * @return the power of the base function at the point
+     */
+    @Override
+    public double valueAtPoint(double[] point){
+        return power(base.valueAtPoint(point), exponent);
+    }
+    /**
+     * Computes the values of the power function at a block of inputs.
+     * @param xs the input values
+     * @param out the array the results are written to
+     */
+    @Override
+    public void valueAt(double[] xs, double[] out){
+        base.valueAt(xs, out);
+        for ( int i = 0 ; i < xs.length ; i++ ){
+            out[i] = power(out[i], exponent);
+        }
+    }
+    /**
+     * Returns an interval containing every value of the power function for x in the given interval.
+     * Even powers of a base range around 0 start at 0 rather than at a negative product.
+     * @param x the interval of inputs
+     * @return an enclosure of the range of the power function
+     */
+    @Override
+    public Interval rangeOver(Interval x){
+        return base.rangeOver(x).pow(exponent);
+    }
+    /**
+     * Calculates the value and the derivative of the power, evaluating the base once
+     * through its own valueAndDerivativeAt.
+     * @param x the input value
+     * @return a new array holding the value and the derivative at x
+     */
+    @Override
+    public double[] valueAndDerivativeAt(double x){
+        double[] result = base.valueAndDerivativeAt(x);
+        double b = result[0];
+        result[0] = power(b, exponent);
+        result[1] = exponent == 0 ? 0 : exponent * power(b, exponent - 1) * result[1];
+        return result;
+    }
+    /**
+     * Emits the code that computes this node, the base followed by emitPower.
+     * @param emitter the emitter to emit the code to
+     */
+    @Override
+    void compileTo(Emitter emitter){
+        if ( exponent == 0 ){
+            emitter.constant(1);
+            return;
+        }
+        emitter.emit(base);
+        emitPower(emitter, exponent);
+    }
+    /**
+     * Emits the code that raises the value on top of the stack to an integer power,
+     * the repeated squaring of power as multiplications of local variables,
+     * or Math.pow for large exponents.
+     * @param emitter the emitter to emit the code to
+     * @param exponent the exponent
+     */
+    static void emitPower(Emitter emitter, int exponent){
+        if ( exponent > MAX_SQUARING_EXPONENT || exponent < -MAX_SQUARING_EXPONENT ){
+            emitter.constant(exponent);
+            emitter.pow();
+            return;
+        }
+        int square = emitter.store();
+        if ( exponent <= 0 )
+            emitter.constant(1);
+        boolean started = false;
+        for ( int m = Math.abs(exponent) ; ; ){
+            if ( (m & 1) != 0 ){
+                emitter.load(square);
+                if ( started )
+                    emitter.multiply();
+                started = true;
+            }
+            m >>= 1;
+            if ( m == 0 )
+                break;
+            emitter.load(square);
+            emitter.load(square);
+            emitter.multiply();
+            square = emitter.store();
+        }
+        if ( exponent < 0 )
+            emitter.divide();
+    }
+    /**
+     * Returns the exponent of the power.
+     * @return the exponent
+     */
+    public int getExponent(){
+        return exponent;
+    }
+    /**
+     * Returns the base function.
+     * @return the base function
+     */
+    public Function getBase(){
+        return base;
+    }
+    /**
+     * Returns the base function.
+     * @return the base function
+     */
+    @Override
+    Function[] children(){
+        return new Function[]{ base };
+    }
+    /**
+     * Returns a new Power of the given base with the same exponent.
+     * @param children the base function
+     * @return the new Power
+     */
+    @Override
+    Function withChildren(Function[] children){
+        return of(children[0], exponent);
+    }
+    /**
+     * Compares the exponents of two powers.
+     * @param other another Power
+     * @return true if the exponents are equal
+     */
+    @Override
+    boolean sameData(Function other){
+        return exponent == ((Power) other).exponent;
+    }
+    @Override
+    int dataHash(){
+        return exponent;
+    }
+    /**
+     * Simplifies the base, removing exponents 0 and 1, folding constant bases,
+     * expanding positive powers of polynomials into one Polynomial
+     * and combining a power of a power into one exponent.
+     * @return the simplified power
+     */
+    @Override
+    public Function simplify(){
+        Function a = simplifiedOf(base);
+        if ( exponent == 0 )
+            return new Constant(1);
+        if ( exponent == 1 )
+            return a;
+        if ( a instanceof Constant )
+            return new Constant(power(((Constant) a).y, exponent));
+        if ( a instanceof Polynomial && exponent > 0 ){
+            Function expanded = Polynomial.normalize(new Power(a, exponent));
+            if ( expanded instanceof Polynomial )
+                return expanded.simplify();
+        }
+        if ( a instanceof Power ){
+            Power inner = (Power) a;
+            long combined = (long) inner.exponent * exponent;
+            if ( combined == (int) combined )
+                return of(inner.base, (int) combined).simplify();
+        }
+        return a == base ? this : of(a, exponent);
+    }
+    /**
+     * Appends a string representation of the power function in the format "(base^exponent)".
+     * @param builder the StringBuilder to append to
+     * @param limit the length of the builder after which children are elided
+     */
+    @Override
+    void appendTo(StringBuilder builder, int limit){
+        builder.append('(');
+        append(builder, base, limit);
+        builder.append('^').append(exponent).append(')');
+    }
+    /**
+     * Computes the derivative of the power function, a PowerDerivative node that evaluates
+     * the base once per point.
+     * @return the derivative of the power function as a new Function object
+     */
+    @Override
+    public Function derivative(){
+        if ( exponent == 0 )
+            return new Constant(0);
+        if ( exponent == 1 )
+            return derivativeOf(base);
+        return new PowerDerivative(base, exponent, derivativeOf(base));
+    }
+}
@@ -0,0 +1,183 @@
+package functions;
+
+/**
+ * Represents the derivative of a Power, n * base^(n-1) * base', made by Power.derivative.
+ * The power of the base is computed by repeated squaring like Power and multiplied with the
+ * derivative tree of the base, without the constant and the product node of the expanded form.
+ * The node is compiled to the same operations, so compiled code, tapes and slot programs compute
+ * a subtree shared by the base and its derivative once, and valueAndDerivativeAt takes the second
+ * derivative from one pass over the derivative tree of the base.
+ * The node renders, differentiates, simplifies and bounds its range as the product it stands for,
+ * so its string representation is that of the product.
+ * It extends the Function class.
+ */
+public final class PowerDerivative extends Function {
+    private final Function base;
+    private final int exponent;
+    private final Function baseDerivative;
+
+    /**
+     * Constructs the derivative of a power.
+     * @param base the base of the power
+     * @param exponent the exponent of the power
+     * @param baseDerivative the derivative of the base
+     */
+    PowerDerivative(Function base, int exponent, Function baseDerivative){
+        this.base = base;
+        this.exponent = exponent;
+        this.baseDerivative = baseDerivative;
+    }
+
+    /**
+     * Returns the base of the differentiated power.
+     * @return the base function
+     */
+    public Function getBase(){
+        return base;
+    }
+    /**
+     * Returns the exponent of the differentiated power.
+     * @return the exponent
+     */
+    public int getExponent(){
+        return exponent;
+    }
+    /**
+     * Returns the product this node stands for, n * base^(n-1) * base'.
+     * @return a new MultiProduct
+     */
+    Function expanded(){
+        return new MultiProduct(new Constant(exponent), Power.of(base, exponent - 1), baseDerivative);
+    }
+    /**
+     * Computes the derivative of the power at the given input.
+     * @param x the input value
+     * @return n * base(x)^(n-1) * base'(x)
+     */
+    @Override
+    public double valueAt(double x){
+        return exponent * Power.power(base.valueAt(x), exponent - 1) * baseDerivative.valueAt(x);
+    }
+    /**
+     * Computes the derivative of the power at a block of inputs.
+     * @param xs the input values
+     * @param out the array the results are written to
+     */
+    @Override
+    public void valueAt(double[] xs, double[] out){
+        double[] derivatives = new double[xs.length];
+        base.valueAt(xs, out);
+        baseDerivative.valueAt(xs, derivatives);
+        for ( int i = 0 ; i < xs.length ; i++ ){
+            out[i] = exponent * Power.power(out[i], exponent - 1) * derivatives[i];
+        }
+    }
+    /**
+     * Calculates the derivative of the power and the second derivative,
+     * n * ((n-1) * base^(n-2) * base'^2 + base^(n-1) * base''),
+     * from the value of the base and one pass of valueAndDerivativeAt over its derivative.
+     * @param x the input value
+     * @return a new array holding the value and the derivative of this node at x
+     */
+    @Override
+    public double[] valueAndDerivativeAt(double x){
+        double b = base.valueAt(x);
+        double[] result = baseDerivative.valueAndDerivativeAt(x);
+        double d = result[0];
+        double power = Power.power(b, exponent - 1);
+        double square = exponent == 1 ? 0 : (exponent - 1) * Power.power(b, exponent - 2) * d * d;
+        result[0] = exponent * power * d;
+        result[1] = exponent * (square + power * result[1]);
+        return result;
+    }
+    /**
+     * Returns the derivative of the power by x_0 at a point of several variables.
+     * @param point the values of the variables
+     * @return n * base^(n-1) * base' at the point
+     */
+    @Override
+    public double valueAtPoint(double[] point){
+        return exponent * Power.power(base.valueAtPoint(point), exponent - 1) * baseDerivative.valueAtPoint(point);
+    }
+    /**
+     * Emits the code that computes n * base^(n-1) * base', the power with the multiplications of Power.
+     * @param emitter the emitter to emit the code to
+     */
+    @Override
+    void compileTo(Emitter emitter){
+        emitter.constant(exponent);
+        if ( exponent == 1 ){
+            emitter.constant(1);
+        } else {
+            emitter.emit(base);
+            Power.emitPower(emitter, exponent - 1);
+        }
+        emitter.multiply();
+        emitter.emit(baseDerivative);
+        emitter.multiply();
+    }
+    /**
+     * Returns the range of the product this node stands for.
+     * @param x the interval of inputs
+     * @return an enclosure of the range of the derivative
+     */
+    @Override
+    public Interval rangeOver(Interval x){
+        return expanded().rangeOver(x);
+    }
+    /**
+     * Returns the base and its derivative.
+     * @return the base and the derivative of the base
+     */
+    @Override
+    Function[] children(){
+        return new Function[]{ base, baseDerivative };
+    }
+    /**
+     * Returns a new PowerDerivative of the given base and base derivative with the same exponent.
+     * @param children the base and the derivative of the base
+     * @return the new PowerDerivative
+     */
+    @Override
+    Function withChildren(Function[] children){
+        return new PowerDerivative(children[0], exponent, children[1]);
+    }
+    /**
+     * Compares the exponents of two power derivatives.
+     * @param other another PowerDerivative
+     * @return true if the exponents are equal
+     */
+    @Override
+    boolean sameData(Function other){
+        return exponent == ((PowerDerivative) other).exponent;
+    }
+    @Override
+    int dataHash(){
+        return exponent;
+    }
+    /**
+     * Simplifies the product this node stands for.
+     * @return the simplified derivative
+     */
+    @Override
+    public Function simplify(){
+        return expanded().simplify();
+    }
+    /**
+     * Appends the string representation of the product this node stands for.
+     * @param builder the StringBuilder to append to
+     * @param limit the length of the builder after which children are elided
+     */
+    @Override
+    void appendTo(StringBuilder builder, int limit){
+        expanded().appendTo(builder, limit);
+    }
+    /**
+     * Computes the second derivative of the power, the derivative of the product this node stands for.
+     * @return the derivative as a new Function object
+     */
+    @Override
+    public Function derivative(){
+        return expanded().derivative();
+    }
+}
@@ -0,0 +1,159 @@
+package functions;
+
+/**
+ * Represents the product of two functions.
+ */
+public class Product extends Function{
+    private final Function f;
+    private final Function g;
+
+    /**
+     * Constructs a new Product object with the given factors.
+     * @param f the first factor
+     * @param g the second factor
+     */
+    public Product(Function f, Function g){
+        this.f = f;
+        this.g = g;
+    }
+
+    /**
+     * Computes the value of the product of the two functions at the given input.
+     * @param x the input value
+     * @return the result of multiplying the value of the first factor by the value of the second factor at the given input
+     */
+    @Override
+    public double valueAt(double x){
+        return f.valueAt(x) * g.valueAt(x);
+    }
+    /**
+     * Returns the product of the two functions at a point of several variables.
+     * @param point the values of the variables
+     * @return the product of the two functions at the point
+     */
+    @Override
+    public double valueAtPoint(double[] point){
+        return f.valueAtPoint(point) * g.valueAtPoint(point);
+    }
+    /**
+     * Calculates the value and the derivative of the product in one pass over the tree,
+     * with the dual-number rules of JetEvaluator.
+     * @param x the input value
+     * @return a new array holding the value and the derivative at x
+     */
+    @Override
+    public double[] valueAndDerivativeAt(double x){
+        double[] a = f.valueAndDerivativeAt(x);
+        double[] b = g.valueAndDerivativeAt(x);
+        double value = a[0] * b[0];
+        a[1] = a[0] * b[1] + a[1] * b[0];
+        a[0] = value;
+        return a;
+    }
+    /**
+     * Computes the values of the product of the two functions at a block of inputs.
+     * @param xs the input values
+     * @param out the array the products are written to
+     */
+    @Override
+    public void valueAt(double[] xs, double[] out){
+        double[] gValues = new double[xs.length];
+        f.valueAt(xs, out);
+        g.valueAt(xs, gValues);
+        for ( int i = 0 ; i < xs.length ; i++ ){
+            out[i] *= gValues[i];
+        }
+    }
+    /**
+     * Returns an interval containing every value of the product of the two functions for x in the given interval.
+     * @param x the interval of inputs
+     * @return an enclosure of the range of the product of the two functions
+     */
+    @Override
+    public Interval rangeOver(Interval x){
+        return f.rangeOver(x).multiply(g.rangeOver(x));
+    }
+    /**
+     * Emits the code that computes this node.
+     * @param emitter the emitter to emit the code to
+     */
+    @Override
+    void compileTo(Emitter emitter){
+        emitter.emit(f);
+        emitter.emit(g);
+        emitter.multiply();
+    }
+    /**
+     * Returns the two functions of this node.
+     * @return the functions f and g
+     */
+    @Override
+    Function[] children(){
+        return new Function[]{ f, g };
+    }
+    /**
+     * Returns a new Product of the given functions.
+     * @param children the functions f and g
+     * @return the new Product
+     */
+    @Override
+    Function withChildren(Function[] children){
+        return new Product(children[0], children[1]);
+    }
+    /**
+     * A Product holds no data besides its functions.
+     * @param other another Product
+     * @return true
+     */
+    @Override
+    boolean sameData(Function other){
+        return true;
+    }
+    @Override
+    int dataHash(){
+        return 0;
+    }
+    /**
+     * Simplifies both factors, multiplying constants and polynomials and removing factors of 0 and 1.
+     * @return the simplified product
+     */
+    @Override
+    public Function simplify(){
+        Function a = simplifiedOf(f);
+        Function b = simplifiedOf(g);
+        if ( Constant.is(a, 0) || Constant.is(b, 0) )
+            return new Constant(0);
+        Polynomial p = Polynomial.of(a);
+        Polynomial q = Polynomial.of(b);
+        if ( p != null && q != null )
+            return p.multiply(q).simplify();
+        if ( Constant.is(a, 1) )
+            return b;
+        if ( Constant.is(b, 1) )
+            return a;
+        return a == f && b == g ? this : new Product(a, b);
+    }
+    /**
+     * Appends a string representation of the product function in the format "(f * g)".
+     * @param builder the StringBuilder to append to
+     * @param limit the length of the builder after which children are elided
+     */
+    @Override
+    void appendTo(StringBuilder builder, int limit) {
+        builder.append('(');
+        append(builder, f, limit);
+        builder.append(" * ");
+        append(builder, g, limit);
+        builder.append(')');
+    }
+    /**
+     * Computes the derivative of the product function.
+     * @return the derivative of the product function as a new Function object
+     */
+    @Override
+    public Function derivative() {
+        Product a = new Product(derivativeOf(f), g);
+        Product b = new Product(derivativeOf(g), f);
+        return new Sum(a,b);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,297 @@
+package functions;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The Profiler class finds the subtrees of a function that take the time of its evaluation.
+ * It builds an instrumented copy of the tree in which every distinct node is wrapped in a probe,
+ * and a subtree shared by several nodes gets one probe. Every call of valueAt, valueAtPoint
+ * and the block valueAt of the copy through a probe counts the call, the nanoseconds spent
+ * in the node including its children, the nanoseconds spent in the node itself,
+ * and the results that are NaN or infinite. The lowest node that produces NaN is where it starts.
+ * The original tree is not changed and costs nothing extra, only the copy pays for the probes.
+ * Other evaluations of the copy, such as compile, gradientAt or rangeOver, answer
+ * through the wrapped nodes and are not recorded. Probes are thread-safe, so the copy
+ * can be evaluated in parallel. The metrics can also be emitted as JFR events.
+ */
+public final class Profiler {
+    private final Function function;
+    private final List<Probe> probes = new ArrayList<>();
+    /**
+     * The nanoseconds the children of the probe running on the current thread spent so far.
+     */
+    private final ThreadLocal<long[]> childNanos = ThreadLocal.withInitial(() -> new long[1]);
+
+    /**
+     * Constructs a Profiler for the specified function and builds its instrumented copy.
+     * @param function the function to profile
+     */
+    public Profiler(Function function){
+        this.function = instrument(function, new IdentityHashMap<>());
+    }
+
+    private Function instrument(Function node, Map<Function, Probe> instrumented){
+        Probe probe = instrumented.get(node);
+        if ( probe != null )
+            return probe;
+        Function[] children = node.children();
+        for ( int i = 0 ; i < children.length ; i++ ){
+            children[i] = instrument(children[i], instrumented);
+        }
+        probe = new Probe(node, children.length == 0 ? node : node.withChildren(children));
+        instrumented.put(node, probe);
+        probes.add(probe);
+        return probe;
+    }
+
+    /**
+     * Returns the instrumented copy of the function, which records its evaluations in this profiler.
+     * @return the instrumented function
+     */
+    public Function getFunction(){
+        return function;
+    }
+    /**
+     * Returns the metrics of every distinct node of the function, children before their parents.
+     * @return a new list holding a snapshot of the metrics of every node
+     */
+    public List<NodeMetrics> getMetrics(){
+        List<NodeMetrics> metrics = new ArrayList<>(probes.size());
+        for ( Probe probe : probes ){
+            metrics.add(probe.metrics());
+        }
+        return metrics;
+    }
+    /**
+     * Sets every count of every node back to 0.
+     */
+    public void reset(){
+        for ( Probe probe : probes ){
+            probe.calls.reset();
+            probe.totalNanos.reset();
+            probe.selfNanos.reset();
+            probe.nans.reset();
+            probe.infinities.reset();
+        }
+    }
+    /**
+     * Emits one NodeProfile JFR event with the metrics of every node that was called,
+     * if the event is enabled in a running recording.
+     */
+    public void commitEvents(){
+        NodeProfileEvent event = new NodeProfileEvent();
+        if ( !event.isEnabled() )
+            return;
+        for ( NodeMetrics metrics : getMetrics() ){
+            if ( metrics.calls == 0 )
+                continue;
+            event = new NodeProfileEvent();
+            event.node = metrics.function.toString(80);
+            event.calls = metrics.calls;
+            event.totalNanos = metrics.totalNanos;
+            event.selfNanos = metrics.selfNanos;
+            event.nans = metrics.nans;
+            event.infinities = metrics.infinities;
+            event.commit();
+        }
+    }
+    /**
+     * Returns a table of the metrics of the nodes that were called, the most expensive first.
+     * @param limit the largest number of rows
+     * @return one line per node with its self time, total time, calls, NaN and infinite results
+     */
+    public String report(int limit){
+        List<NodeMetrics> metrics = getMetrics();
+        metrics.sort(Comparator.comparingLong(NodeMetrics::getSelfNanos).reversed());
+        StringBuilder builder = new StringBuilder();
+        builder.append(String.format("%12s %12s %10s %8s %8s  %s%n", "self ns", "total ns", "calls", "NaN", "infinite", "node"));
+        for ( int i = 0 ; i < metrics.size() && i < limit ; i++ ){
+            NodeMetrics row = metrics.get(i);
+            if ( row.calls == 0 )
+                break;
+            builder.append(String.format("%12d %12d %10d %8d %8d  %s%n", row.selfNanos, row.totalNanos, row.calls,
+                    row.nans, row.infinities, row.function.toString(60)));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * The metrics of one node at the time they were taken.
+     */
+    public static final class NodeMetrics {
+        private final Function function;
+        private final long calls;
+        private final long totalNanos;
+        private final long selfNanos;
+        private final long nans;
+        private final long infinities;
+
+        private NodeMetrics(Function function, long calls, long totalNanos, long selfNanos, long nans, long infinities){
+            this.function = function;
+            this.calls = calls;
+            this.totalNanos = totalNanos;
+            this.selfNanos = selfNanos;
+            this.nans = nans;
+            this.infinities = infinities;
+        }
+
+        /**
+         * Returns the node of the original function.
+         * @return the node
+         */
+        public Function getFunction(){
+            return function;
+        }
+        /**
+         * Returns the number of values computed by the node. A block evaluation counts once per input.
+         * @return the number of values
+         */
+        public long getCalls(){
+            return calls;
+        }
+        /**
+         * Returns the nanoseconds spent in the node, including its children.
+         * @return the total nanoseconds
+         */
+        public long getTotalNanos(){
+            return totalNanos;
+        }
+        /**
+         * Returns the nanoseconds spent in the node, not counting its children.
+         * @return the self nanoseconds
+         */
+        public long getSelfNanos(){
+            return selfNanos;
+        }
+        /**
+         * Returns the number of values of the node that were NaN.
+         * @return the number of NaN values
+         */
+        public long getNaNs(){
+            return nans;
+        }
+        /**
+         * Returns the number of values of the node that were infinite.
+         * @return the number of infinite values
+         */
+        public long getInfinities(){
+            return infinities;
+        }
+        /**
+         * Returns a string representation of the metrics.
+         * @return the counts followed by the node
+         */
+        @Override
+        public String toString(){
+            return calls + " calls, " + totalNanos + " ns total, " + selfNanos + " ns self, " + nans + " NaN, "
+                    + infinities + " infinite: " + function.toString(60);
+        }
+    }
+
+    /**
+     * The Probe wraps a node whose children are probes as well, and records every evaluation.
+     * Everything that is not recorded is answered by the wrapped node.
+     */
+    private final class Probe extends Function {
+        private final Function original;
+        private final Function node;
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAdder selfNanos = new LongAdder();
+        private final LongAdder nans = new LongAdder();
+        private final LongAdder infinities = new LongAdder();
+
+        /**
+         * Constructs a Probe.
+         * @param original the node of the original function, reported in the metrics
+         * @param node the copy of the node whose children are probes
+         */
+        Probe(Function original, Function node){
+            this.original = original;
+            this.node = node;
+        }
+
+        NodeMetrics metrics(){
+            return new NodeMetrics(original, calls.sum(), totalNanos.sum(), selfNanos.sum(), nans.sum(), infinities.sum());
+        }
+
+        @Override
+        public double valueAt(double x){
+            long[] children = childNanos.get();
+            long outer = children[0];
+            children[0] = 0;
+            long start = System.nanoTime();
+            double value = node.valueAt(x);
+            long elapsed = System.nanoTime() - start;
+            record(elapsed, elapsed - children[0], 1);
+            children[0] = outer + elapsed;
+            count(value);
+            return value;
+        }
+        @Override
+        public double valueAtPoint(double[] point){
+            long[] children = childNanos.get();
+            long outer = children[0];
+            children[0] = 0;
+            long start = System.nanoTime();
+            double value = node.valueAtPoint(point);
+            long elapsed = System.nanoTime() - start;
+            record(elapsed, elapsed - children[0], 1);
+            children[0] = outer + elapsed;
+            count(value);
+            return value;
+        }
+        @Override
+        public void valueAt(double[] xs, double[] out){
+            long[] children = childNanos.get();
+            long outer = children[0];
+            children[0] = 0;
+            long start = System.nanoTime();
+            node.valueAt(xs, out);
+            long elapsed = System.nanoTime() - start;
+            record(elapsed, elapsed - children[0], xs.length);
+            children[0] = outer + elapsed;
+            for ( int i = 0 ; i < xs.length ; i++ ){
+                count(out[i]);
+            }
+        }
+        private void record(long total, long self, int values){
+            calls.add(values);
+            totalNanos.add(total);
+            selfNanos.add(self);
+        }
+        private void count(double value){
+            if ( Double.isNaN(value) )
+                nans.increment();
+            else if ( Double.isInfinite(value) )
+                infinities.increment();
+        }
+
+        @Override
+        public Interval rangeOver(Interval x){
+            return node.rangeOver(x);
+        }
+        @Override
+        public Function derivative(){
+            return original.derivative();
+        }
+        @Override
+        Function antiderivative(){
+            return original.antiderivative();
+        }
+        @Override
+        void compileTo(Emitter emitter){
+            node.compileTo(emitter);
+        }
+        @Override
+        void appendTo(StringBuilder builder, int limit){
+            node.appendTo(builder, limit);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package functions;
+
+public class Quotient extends Function{
+    private final Function f;
+    private final Function g;
+
+    public Quotient(Function f, Function g){
+        this.f = f;
+        this.g = g;
+    }
+    @Override
+    public double valueAt(double x){
+        return f.valueAt(x) / g.valueAt(x);
+    }
+    @Override
+    public double valueAtPoint(double[] point){
+        return f.valueAtPoint(point) / g.valueAtPoint(point);
+    }
+    @Override
+    public double[] valueAndDerivativeAt(double x){
+        double[] a = f.valueAndDerivativeAt(x);
+        double[] b = g.valueAndDerivativeAt(x);
+        a[0] = a[0] / b[0];
+        a[1] = (a[1] - b[1] * a[0]) / b[0];
+        return a;
+    }
+    @Override
+    public void valueAt(double[] xs, double[] out){
+        double[] gValues = new double[xs.length];
+        f.valueAt(xs, out);
+        g.valueAt(xs, gValues);
+        for ( int i = 0 ; i < xs.length ; i++ ){
+            out[i] /= gValues[i];
+        }
+    }
+    @Override
+    public Interval rangeOver(Interval x){
+        return f.rangeOver(x).divide(g.rangeOver(x));
+    }
+    @Override
+    void compileTo(Emitter emitter){
+        emitter.emit(f);
+        emitter.emit(g);
+        emitter.divide();
+    }
+    @Override
+    Function[] children(){
+        return new Function[]{ f, g };
+    }
+    @Override
+    Function withChildren(Function[] children){
+        return new Quotient(children[0], children[1]);
+    }
+    @Override
+    boolean sameData(Function other){
+        return true;
+    }
+    @Override
+    int dataHash(){
+        return 0;
+    }
+    @Override
+    public Function simplify(){
+        Function a = simplifiedOf(f);
+        Function b = simplifiedOf(g);
+        Polynomial p = Polynomial.of(a);
+        boolean finiteNonZero = b instanceof Constant && ((Constant) b).y != 0 && Double.isFinite(((Constant) b).y);
+        if ( p != null && finiteNonZero )
+            return p.divide(((Constant) b).y).simplify();
+        if ( Constant.is(a, 0) && finiteNonZero )
+            return new Constant(0);
+        if ( Constant.is(b, 1) )
+            return a;
+        return a == f && b == g ? this : new Quotient(a, b);
+    }
+    @Override
+    void appendTo(StringBuilder builder, int limit) {
+        builder.append('(');
+        append(builder, f, limit);
+        builder.append(" / ");
+        append(builder, g, limit);
+        builder.append(')');
+    }
+    @Override
+    public Function derivative() {
+        Product ftagg = new Product(derivativeOf(f), g);
+        Product fgtag = new Product(derivativeOf(g), f);
+        Difference numerator = new Difference(ftagg, fgtag);
+        Power denominator = Power.of(g,2);
+        return new Quotient(numerator,denominator);
+    }
+}
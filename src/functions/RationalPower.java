@@ -0,0 +1,255 @@
+package functions;
+
+/**
+ * Represents a function raised to a rational power p/q in lowest terms with q > 1, the real q-th root
+ * of the base raised to the power p. Odd roots of negative numbers are negative, so (x^(1/3)) is
+ * defined for every x and odd in x, while even roots of negative numbers are NaN.
+ * The root is taken first, with Math.sqrt, Math.cbrt or Math.pow of the absolute value,
+ * and raised to p like a Power. The node is compiled to the root operation of the emitters
+ * followed by the multiplications of Power, so compiled code returns bit-identical results.
+ * It extends the Function class.
+ */
+public class RationalPower extends Function {
+    private final Function base;
+    private final int numerator;
+    private final int denominator;
+
+    /**
+     * Constructs the power base^(numerator/denominator), reducing the fraction to lowest terms.
+     * Use Power.of to get a Power when the exponent is an integer.
+     * @param base the base function
+     * @param numerator the numerator of the exponent
+     * @param denominator the denominator of the exponent
+     * @throws IllegalArgumentException if the denominator is not positive or the exponent is an integer
+     */
+    public RationalPower(Function base, int numerator, int denominator){
+        if ( denominator <= 0 )
+            throw new IllegalArgumentException("the denominator of an exponent must be positive, got " + denominator);
+        int gcd = gcd(Math.abs(numerator), denominator);
+        if ( gcd == denominator )
+            throw new IllegalArgumentException(numerator + "/" + denominator + " is an integer, use Power.of");
+        this.base = base;
+        this.numerator = numerator / gcd;
+        this.denominator = denominator / gcd;
+    }
+    private static int gcd(int a, int b){
+        while ( b != 0 ){
+            int r = a % b;
+            a = b;
+            b = r;
+        }
+        return a;
+    }
+
+    /**
+     * Takes the real root of a number, which is negative for an odd root of a negative number.
+     * This is the root operation of the emitters.
+     * @param b the number
+     * @param q the order of the root, an integer greater than 1
+     * @return the q-th root of b, NaN for a negative b and an even q
+     */
+    static double root(double b, double q){
+        if ( q == 2 )
+            return Math.sqrt(b);
+        if ( q == 3 )
+            return Math.cbrt(b);
+        if ( b < 0 && q % 2 == 1 )
+            return -Math.pow(-b, 1 / q);
+        return Math.pow(b, 1 / q);
+    }
+    /**
+     * Raises a number to the power p/q, the real q-th root raised to p.
+     * @param b the base
+     * @param p the numerator of the exponent
+     * @param q the denominator of the exponent, greater than 1
+     * @return b^(p/q), NaN for a negative base and an even q
+     */
+    static double power(double b, int p, int q){
+        return Power.power(root(b, q), p);
+    }
+
+    /**
+     * Computes the base raised to the rational power at the given input.
+     * @param x the input value
+     * @return the power of the base function at x
+     */
+    @Override
+    public double valueAt(double x){
+        return power(base.valueAt(x), numerator, denominator);
+    }
+    /**
+     * Returns the power of the base function at a point of several variables.
+     * @param point the values of the variables
+     * @return the power of the base function at the point
+     */
+    @Override
+    public double valueAtPoint(double[] point){
+        return power(base.valueAtPoint(point), numerator, denominator);
+    }
+    /**
+     * Computes the values of the power at a block of inputs.
+     * @param xs the input values
+     * @param out the array the results are written to
+     */
+    @Override
+    public void valueAt(double[] xs, double[] out){
+        base.valueAt(xs, out);
+        for ( int i = 0 ; i < xs.length ; i++ ){
+            out[i] = power(out[i], numerator, denominator);
+        }
+    }
+    /**
+     * Calculates the value and the derivative of the power, evaluating the base once.
+     * @param x the input value
+     * @return a new array holding the value and the derivative at x
+     */
+    @Override
+    public double[] valueAndDerivativeAt(double x){
+        double[] result = base.valueAndDerivativeAt(x);
+        double b = result[0];
+        result[0] = power(b, numerator, denominator);
+        result[1] = (double) numerator / denominator * power(b, numerator - denominator, denominator) * result[1];
+        return result;
+    }
+    /**
+     * Returns an interval containing every value of the power for x in the given interval.
+     * The power of |p|/q is increasing in the base for a nonnegative base, odd for odd p and q,
+     * and even for even p, so its range comes from the ends of the range of the base.
+     * A negative exponent is 1 divided by that range. An even root of a range reaching
+     * below 0 gives the whole real line, since the power is NaN there.
+     * @param x the interval of inputs
+     * @return an enclosure of the range of the power
+     */
+    @Override
+    public Interval rangeOver(Interval x){
+        return range(base.rangeOver(x), numerator, denominator);
+    }
+    /**
+     * Returns an interval containing b^(p/q) for every b in the given interval, see rangeOver.
+     * @param b the range of the base
+     * @param p the numerator of the exponent
+     * @param q the denominator of the exponent, greater than 1
+     * @return an enclosure of the range of the power
+     */
+    static Interval range(Interval b, int p, int q){
+        if ( q % 2 == 0 && b.getLower() < 0 )
+            return Interval.ENTIRE;
+        int n = Math.abs(p);
+        double low = power(b.getLower(), n, q);
+        double high = power(b.getUpper(), n, q);
+        Interval range;
+        if ( n % 2 == 1 || b.getLower() >= 0 )
+            range = new Interval(widen(low, -1, n), widen(high, 1, n));
+        else if ( b.getUpper() <= 0 )
+            range = new Interval(widen(high, -1, n), widen(low, 1, n));
+        else
+            range = new Interval(0, widen(Math.max(low, high), 1, n));
+        if ( n % 2 == 0 || b.getLower() >= 0 )
+            range = new Interval(Math.max(0, range.getLower()), range.getUpper());
+        return p < 0 ? Interval.point(1).divide(range) : range;
+    }
+    /**
+     * Moves a computed power outwards by a few ulps more than its rounding error,
+     * which grows with the integer power n applied after the root.
+     */
+    private static double widen(double value, int direction, int n){
+        if ( Double.isInfinite(value) )
+            return value;
+        return value + direction * Math.ulp(value) * (2 + n);
+    }
+    /**
+     * Emits the code that computes this node, the root of the base raised to the numerator
+     * with the multiplications of Power.
+     * @param emitter the emitter to emit the code to
+     */
+    @Override
+    void compileTo(Emitter emitter){
+        emitter.emit(base);
+        emitter.constant(denominator);
+        emitter.root();
+        Power.emitPower(emitter, numerator);
+    }
+    /**
+     * Returns the numerator of the exponent in lowest terms.
+     * @return the numerator
+     */
+    public int getNumerator(){
+        return numerator;
+    }
+    /**
+     * Returns the denominator of the exponent in lowest terms, greater than 1.
+     * @return the denominator
+     */
+    public int getDenominator(){
+        return denominator;
+    }
+    /**
+     * Returns the base function.
+     * @return the base function
+     */
+    public Function getBase(){
+        return base;
+    }
+    /**
+     * Returns the base function.
+     * @return the base function
+     */
+    @Override
+    Function[] children(){
+        return new Function[]{ base };
+    }
+    /**
+     * Returns a new RationalPower of the given base with the same exponent.
+     * @param children the base function
+     * @return the new RationalPower
+     */
+    @Override
+    Function withChildren(Function[] children){
+        return new RationalPower(children[0], numerator, denominator);
+    }
+    /**
+     * Compares the exponents of two rational powers.
+     * @param other another RationalPower
+     * @return true if the exponents are equal
+     */
+    @Override
+    boolean sameData(Function other){
+        RationalPower power = (RationalPower) other;
+        return numerator == power.numerator && denominator == power.denominator;
+    }
+    @Override
+    int dataHash(){
+        return numerator * 31 + denominator;
+    }
+    /**
+     * Simplifies the base and folds a constant base.
+     * @return the simplified power
+     */
+    @Override
+    public Function simplify(){
+        Function a = simplifiedOf(base);
+        if ( a instanceof Constant )
+            return new Constant(power(((Constant) a).y, numerator, denominator));
+        return a == base ? this : new RationalPower(a, numerator, denominator);
+    }
+    /**
+     * Appends a string representation of the power in the format "(base^(p/q))".
+     * @param builder the StringBuilder to append to
+     * @param limit the length of the builder after which children are elided
+     */
+    @Override
+    void appendTo(StringBuilder builder, int limit){
+        builder.append('(');
+        append(builder, base, limit);
+        builder.append("^(").append(numerator).append('/').append(denominator).append("))");
+    }
+    /**
+     * Computes the derivative of the power, (p/q) * base^((p-q)/q) * base'.
+     * @return the derivative of the power as a new Function object
+     */
+    @Override
+    public Function derivative(){
+        return new MultiProduct(new Constant((double) numerator / denominator),
+                Power.of(base, numerator - denominator, denominator), derivativeOf(base));
+    }
+}
@@ -0,0 +1,445 @@
+package functions;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * The RootFinder class finds roots of a function with bracketing and Newton type methods.
+ * The value of the function at a point is computed once and reused, so every iteration
+ * of a bracketing method costs a single evaluation.
+ * Every method returns a Result with the root, the residual, the number of iterations
+ * and whether the method converged.
+ */
+public class RootFinder {
+    /**
+     * The relative machine precision used by Brent's method.
+     */
+    private static final double MACHINE_EPSILON = Math.ulp(1.0);
+
+    private final Function function;
+    private final double epsilon;
+    private final int maxIterations;
+
+    /**
+     * Constructs a RootFinder for the specified function with a precision of 10^-5
+     * and at most Function.DEFAULT_MAX_ITERATIONS iterations.
+     * @param function the function whose roots are found
+     */
+    public RootFinder(Function function){
+        this(function, Math.pow(10.0, -5.0), Function.DEFAULT_MAX_ITERATIONS);
+    }
+
+    /**
+     * Constructs a RootFinder for the specified function.
+     * The bracketing methods stop when the bracket is no wider than epsilon,
+     * Newton's method stops when the absolute value of the function is below epsilon.
+     * @param function the function whose roots are found
+     * @param epsilon the desired precision of the roots
+     * @param maxIterations the largest number of iterations of one method
+     */
+    public RootFinder(Function function, double epsilon, int maxIterations){
+        this.function = function;
+        this.epsilon = epsilon;
+        this.maxIterations = maxIterations;
+    }
+
+    /**
+     * Finds a root in [a, b] by halving the interval.
+     * If the function has no sign change in [a, b] the interval still shrinks towards one end,
+     * and the result is marked as not converged.
+     * @param a the left endpoint of the interval
+     * @param b the right endpoint of the interval
+     * @return the result, whose root is the middle of the last interval
+     */
+    public Result bisection(double a, double b){
+        double left = a;
+        double right = b;
+        double leftValue = function.valueAt(left);
+        boolean bracketed = leftValue * function.valueAt(right) <= 0;
+        int iterations = 0;
+        while ( right - left > epsilon && iterations < maxIterations ){
+            double mid = (left + right) / 2;
+            if ( mid <= left || mid >= right )
+                break;
+            double midValue = function.valueAt(mid);
+            if ( leftValue * midValue > 0 ){
+                left = mid;
+                leftValue = midValue;
+            }
+            else
+                right = mid;
+            iterations++;
+        }
+        double root = (left + right) / 2;
+        return new Result(root, function.valueAt(root), iterations, bracketed && iterations < maxIterations);
+    }
+
+    /**
+     * Finds a root in [a, b] by the Illinois variant of regula falsi, which halves the value
+     * kept at an endpoint that stays in place for two iterations in a row.
+     * @param a the left endpoint of the interval
+     * @param b the right endpoint of the interval
+     * @return the result, not converged if the function has no sign change in [a, b]
+     */
+    public Result illinois(double a, double b){
+        double aValue = function.valueAt(a);
+        double bValue = function.valueAt(b);
+        if ( aValue == 0 )
+            return new Result(a, aValue, 0, true);
+        if ( bValue == 0 )
+            return new Result(b, bValue, 0, true);
+        if ( aValue * bValue > 0 )
+            return notBracketed();
+        int side = 0;
+        double c = a;
+        double cValue = aValue;
+        for ( int iterations = 1 ; iterations <= maxIterations ; iterations++ ){
+            c = (aValue * b - bValue * a) / (aValue - bValue);
+            cValue = function.valueAt(c);
+            if ( cValue == 0 || Math.abs(b - a) <= epsilon )
+                return new Result(c, cValue, iterations, true);
+            if ( cValue * bValue > 0 ){
+                b = c;
+                bValue = cValue;
+                if ( side == -1 )
+                    aValue /= 2;
+                side = -1;
+            } else {
+                a = c;
+                aValue = cValue;
+                if ( side == 1 )
+                    bValue /= 2;
+                side = 1;
+            }
+        }
+        return new Result(c, cValue, maxIterations, false);
+    }
+
+    /**
+     * Finds a root in [a, b] by Brent's method, which combines inverse quadratic interpolation,
+     * the secant method and bisection, and never does worse than bisection.
+     * @param a the left endpoint of the interval
+     * @param b the right endpoint of the interval
+     * @return the result, not converged if the function has no sign change in [a, b]
+     */
+    public Result brent(double a, double b){
+        double aValue = function.valueAt(a);
+        double bValue = function.valueAt(b);
+        if ( aValue * bValue > 0 )
+            return notBracketed();
+        double c = b;
+        double cValue = bValue;
+        double d = 0;
+        double e = 0;
+        for ( int iterations = 0 ; iterations < maxIterations ; iterations++ ){
+            if ( (bValue > 0 && cValue > 0) || (bValue < 0 && cValue < 0) ){
+                c = a;
+                cValue = aValue;
+                d = b - a;
+                e = d;
+            }
+            if ( Math.abs(cValue) < Math.abs(bValue) ){
+                a = b;
+                b = c;
+                c = a;
+                aValue = bValue;
+                bValue = cValue;
+                cValue = aValue;
+            }
+            double tolerance = 2 * MACHINE_EPSILON * Math.abs(b) + 0.5 * epsilon;
+            double middle = 0.5 * (c - b);
+            if ( Math.abs(middle) <= tolerance || bValue == 0 )
+                return new Result(b, bValue, iterations, true);
+            if ( Math.abs(e) >= tolerance && Math.abs(aValue) > Math.abs(bValue) ){
+                double s = bValue / aValue;
+                double p;
+                double q;
+                if ( a == c ){
+                    p = 2 * middle * s;
+                    q = 1 - s;
+                } else {
+                    q = aValue / cValue;
+                    double r = bValue / cValue;
+                    p = s * (2 * middle * q * (q - r) - (b - a) * (r - 1));
+                    q = (q - 1) * (r - 1) * (s - 1);
+                }
+                if ( p > 0 )
+                    q = -q;
+                p = Math.abs(p);
+                if ( 2 * p < Math.min(3 * middle * q - Math.abs(tolerance * q), Math.abs(e * q)) ){
+                    e = d;
+                    d = p / q;
+                } else {
+                    d = middle;
+                    e = d;
+                }
+            } else {
+                d = middle;
+                e = d;
+            }
+            a = b;
+            aValue = bValue;
+            b += Math.abs(d) > tolerance ? d : Math.copySign(tolerance, middle);
+            bValue = function.valueAt(b);
+        }
+        return new Result(b, bValue, maxIterations, false);
+    }
+
+    /**
+     * Finds a root by Newton's method starting from an initial guess.
+     * The value and the derivative of every step come from one pass of valueAndDerivativeAt.
+     * The method gives up when the derivative is 0 or an iterate or a value is no longer finite.
+     * @param x the initial guess for the root
+     * @return the result, not converged if the method gave up or ran out of iterations
+     */
+    public Result newton(double x){
+        double[] valueAndDerivative = function.valueAndDerivativeAt(x);
+        int iterations = 0;
+        while ( Math.abs(valueAndDerivative[0]) >= epsilon ){
+            if ( iterations == maxIterations || valueAndDerivative[1] == 0 || !Double.isFinite(valueAndDerivative[0]) )
+                return new Result(x, valueAndDerivative[0], iterations, false);
+            x = x - valueAndDerivative[0] / valueAndDerivative[1];
+            iterations++;
+            if ( !Double.isFinite(x) )
+                return new Result(x, Double.NaN, iterations, false);
+            valueAndDerivative = function.valueAndDerivativeAt(x);
+        }
+        return new Result(x, valueAndDerivative[0], iterations, true);
+    }
+
+    /**
+     * Finds a root in [a, b] by Newton's method kept inside the bracket:
+     * a step that would leave the bracket or does not shrink it fast enough becomes a bisection step.
+     * @param a the left endpoint of the interval
+     * @param b the right endpoint of the interval
+     * @return the result, not converged if the function has no sign change in [a, b]
+     */
+    public Result safeguardedNewton(double a, double b){
+        double aValue = function.valueAt(a);
+        double bValue = function.valueAt(b);
+        if ( aValue == 0 )
+            return new Result(a, aValue, 0, true);
+        if ( bValue == 0 )
+            return new Result(b, bValue, 0, true);
+        if ( aValue * bValue > 0 )
+            return notBracketed();
+        double low = aValue < 0 ? a : b;
+        double high = aValue < 0 ? b : a;
+        double x = 0.5 * (a + b);
+        double previousStep = Math.abs(b - a);
+        double step = previousStep;
+        double[] valueAndDerivative = function.valueAndDerivativeAt(x);
+        for ( int iterations = 1 ; iterations <= maxIterations ; iterations++ ){
+            double value = valueAndDerivative[0];
+            double derivative = valueAndDerivative[1];
+            if ( ((x - high) * derivative - value) * ((x - low) * derivative - value) > 0
+                    || Math.abs(2 * value) > Math.abs(previousStep * derivative) ){
+                previousStep = step;
+                step = 0.5 * (high - low);
+                x = low + step;
+            } else {
+                previousStep = step;
+                step = value / derivative;
+                x -= step;
+            }
+            valueAndDerivative = function.valueAndDerivativeAt(x);
+            if ( Math.abs(step) < epsilon || valueAndDerivative[0] == 0 )
+                return new Result(x, valueAndDerivative[0], iterations, true);
+            if ( valueAndDerivative[0] < 0 )
+                low = x;
+            else
+                high = x;
+        }
+        return new Result(x, valueAndDerivative[0], maxIterations, false);
+    }
+
+    /**
+     * Finds all roots in [a, b] that show up as sign changes between neighbouring points
+     * of an even grid, refining every bracket by Brent's method in parallel.
+     * Grid points where the function is exactly 0 are roots as well.
+     * Roots closer together than the grid spacing may be missed.
+     * @param a the left endpoint of the interval
+     * @param b the right endpoint of the interval
+     * @param intervals the number of grid intervals to scan
+     * @return the roots in increasing order
+     */
+    public List<Result> findAllRoots(double a, double b, int intervals){
+        double[] xs = new double[intervals + 1];
+        for ( int i = 0 ; i <= intervals ; i++ ){
+            xs[i] = a + (b - a) * i / intervals;
+        }
+        double[] values = new double[xs.length];
+        function.valueAt(xs, values);
+        List<double[]> brackets = new ArrayList<>();
+        for ( int i = 0 ; i <= intervals ; i++ ){
+            if ( values[i] == 0 )
+                brackets.add(new double[]{ xs[i], xs[i] });
+            else if ( i < intervals && values[i] * values[i + 1] < 0 )
+                brackets.add(new double[]{ xs[i], xs[i + 1] });
+        }
+        return IntStream.range(0, brackets.size()).parallel()
+                .mapToObj(i -> {
+                    double[] bracket = brackets.get(i);
+                    if ( bracket[0] == bracket[1] )
+                        return new Result(bracket[0], 0, 0, true);
+                    return brent(bracket[0], bracket[1]);
+                })
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Finds all roots in [a, b] by branch and bound on the ranges given by rangeOver.
+     * A sub-interval is dropped as soon as the range of the function over it does not contain 0.
+     * A sub-interval over which the range of the derivative does not contain 0 is monotone:
+     * it holds a root only if the function changes sign, and that root is refined by Brent's method.
+     * Other sub-intervals are halved until they are no wider than epsilon, or until maxIterations
+     * sub-intervals have been halved. Neighbouring sub-intervals left over this way are merged and
+     * reported by their middle, refined by Brent's method if the function changes sign across them,
+     * and otherwise kept only if the absolute value of the function there is at most epsilon,
+     * which happens for roots of even multiplicity. Poles are not roots: a sub-interval whose middle
+     * value is not finite or larger in absolute value than the values at its ends is dropped,
+     * as is a root refined by Brent's method whose residual is larger than epsilon.
+     * The iterations of a result are those of Brent's method, or the number of halvings that led
+     * to its sub-interval when it was found without Brent's method.
+     * Unlike findAllRoots this method does not miss roots between grid points,
+     * and it spends almost no evaluations on the parts of [a, b] without roots.
+     * @param a the left endpoint of the interval
+     * @param b the right endpoint of the interval
+     * @return the roots in increasing order
+     */
+    public List<Result> isolateRoots(double a, double b){
+        Function derivative = function.derivative();
+        List<Result> roots = new ArrayList<>();
+        Deque<double[]> pending = new ArrayDeque<>();
+        pending.push(new double[]{ a, b, 0 });
+        int splits = 0;
+        double candidateStart = Double.NaN;
+        double candidateEnd = Double.NaN;
+        int candidateDepth = 0;
+        while ( !pending.isEmpty() ){
+            double[] interval = pending.pop();
+            double low = interval[0];
+            double high = interval[1];
+            int depth = (int) interval[2];
+            if ( !function.rangeOver(low, high).contains(0) )
+                continue;
+            if ( !derivative.rangeOver(low, high).contains(0) ){
+                double lowValue = function.valueAt(low);
+                double highValue = function.valueAt(high);
+                if ( lowValue == 0 )
+                    roots.add(new Result(low, 0, depth, true));
+                else if ( highValue == 0 )
+                    roots.add(new Result(high, 0, depth, true));
+                else if ( lowValue * highValue < 0 )
+                    addRefined(roots, brent(low, high));
+                continue;
+            }
+            double mid = 0.5 * (low + high);
+            if ( high - low <= epsilon || splits >= maxIterations || mid <= low || mid >= high ){
+                if ( candidateEnd != low ){
+                    addCandidate(roots, candidateStart, candidateEnd, candidateDepth);
+                    candidateStart = low;
+                    candidateDepth = 0;
+                }
+                candidateEnd = high;
+                candidateDepth = Math.max(candidateDepth, depth);
+                continue;
+            }
+            splits++;
+            pending.push(new double[]{ mid, high, depth + 1 });
+            pending.push(new double[]{ low, mid, depth + 1 });
+        }
+        addCandidate(roots, candidateStart, candidateEnd, candidateDepth);
+        roots.sort(Comparator.comparingDouble(Result::getRoot));
+        List<Result> distinct = new ArrayList<>();
+        for ( Result root : roots ){
+            if ( distinct.isEmpty() || root.getRoot() - distinct.get(distinct.size() - 1).getRoot() > epsilon )
+                distinct.add(root);
+        }
+        return distinct;
+    }
+    /**
+     * Adds the root of merged sub-intervals left over by isolateRoots, unless they hold a pole
+     * or the function does not get within epsilon of 0 there.
+     */
+    private void addCandidate(List<Result> roots, double start, double end, int depth){
+        if ( Double.isNaN(start) )
+            return;
+        double startValue = function.valueAt(start);
+        double endValue = function.valueAt(end);
+        double mid = 0.5 * (start + end);
+        double value = function.valueAt(mid);
+        if ( !Double.isFinite(value) || Math.abs(value) > Math.max(Math.abs(startValue), Math.abs(endValue)) )
+            return;
+        if ( startValue * endValue < 0 )
+            addRefined(roots, brent(start, end));
+        else if ( Math.abs(value) <= epsilon )
+            roots.add(new Result(mid, value, depth, true));
+    }
+    /**
+     * Adds a root refined by Brent's method if it converged to a point where the function is
+     * within epsilon of 0. Brent's method also converges to a pole where the sign changes.
+     */
+    private void addRefined(List<Result> roots, Result root){
+        if ( root.isConverged() && Math.abs(root.getResidual()) <= epsilon )
+            roots.add(root);
+    }
+
+    private static Result notBracketed(){
+        return new Result(Double.NaN, Double.NaN, 0, false);
+    }
+
+    /**
+     * The outcome of a root finding method.
+     */
+    public static final class Result {
+        private final double root;
+        private final double residual;
+        private final int iterations;
+        private final boolean converged;
+
+        Result(double root, double residual, int iterations, boolean converged){
+            this.root = root;
+            this.residual = residual;
+            this.iterations = iterations;
+            this.converged = converged;
+        }
+        /**
+         * Returns the approximated root.
+         * @return the root, or NaN if the interval did not bracket a root
+         */
+        public double getRoot(){
+            return root;
+        }
+        /**
+         * Returns the value of the function at the root.
+         * @return the residual
+         */
+        public double getResidual(){
+            return residual;
+        }
+        /**
+         * Returns the number of iterations the method took.
+         * @return the number of iterations
+         */
+        public int getIterations(){
+            return iterations;
+        }
+        /**
+         * Tells whether the method reached the desired precision.
+         * @return true if the method converged
+         */
+        public boolean isConverged(){
+            return converged;
+        }
+        @Override
+        public String toString(){
+            return root + " (residual " + residual + ", " + iterations + " iterations" + (converged ? ")" : ", not converged)");
+        }
+    }
+}
@@ -0,0 +1,343 @@
+package functions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The SlotProgram class is a function after common-subexpression elimination.
+ * The tree is interned into a DAG first, so structurally identical subtrees become one node,
+ * and the DAG is lowered into a list of operations in which every distinct node writes its value
+ * to a slot of its own and reads its operands from the slots of its children.
+ * One call of valueAt therefore evaluates every distinct node exactly once, however many times
+ * it appears in the tree. Operations whose operands are all constant are folded when the program
+ * is built, and polynomials are evaluated through their own valueAt.
+ * The slot array of a thread is allocated on its first call and reused by the calls after it,
+ * so evaluation allocates nothing. The operations are the same as in valueAt,
+ * so the values are bit-identical to the values of the tree.
+ * Everything except valueAt is answered by the DAG.
+ * It extends the Function class.
+ */
+public final class SlotProgram extends Function {
+    private static final byte ADD = 0;
+    private static final byte SUBTRACT = 1;
+    private static final byte MULTIPLY = 2;
+    private static final byte DIVIDE = 3;
+    private static final byte NEGATE = 4;
+    private static final byte POW = 5;
+    private static final byte ROOT = 6;
+    private static final byte FALLBACK = 7;
+
+    private final Function dag;
+    private final long treeEvaluations;
+    private final byte[] operations;
+    private final int[] targets;
+    private final int[] firstOperands;
+    private final int[] secondOperands;
+    private final Function[] fallbacks;
+    private final int result;
+    private final ThreadLocal<double[]> slots;
+
+    /**
+     * Constructs the program of a function, eliminating its common subexpressions.
+     * @param function the function to lower
+     */
+    SlotProgram(Function function){
+        this.dag = new Interner().intern(function);
+        this.treeEvaluations = treeEvaluations(function, new IdentityHashMap<>());
+        Builder builder = new Builder();
+        builder.emit(dag);
+        this.result = builder.stack[--builder.top];
+        this.operations = Arrays.copyOf(builder.operations, builder.length);
+        this.targets = Arrays.copyOf(builder.targets, builder.length);
+        this.firstOperands = Arrays.copyOf(builder.firstOperands, builder.length);
+        this.secondOperands = Arrays.copyOf(builder.secondOperands, builder.length);
+        this.fallbacks = builder.fallbacks.toArray(new Function[0]);
+        double[] initial = Arrays.copyOf(builder.values, builder.numberOfSlots);
+        this.slots = ThreadLocal.withInitial(initial::clone);
+    }
+
+    /**
+     * Counts the nodes that valueAt of the tree evaluates, a node referenced n times counting n times.
+     */
+    private static long treeEvaluations(Function function, Map<Function, Long> counts){
+        Long count = counts.get(function);
+        if ( count != null )
+            return count;
+        long sum = 1;
+        for ( Function child : function.children() ){
+            sum += treeEvaluations(child, counts);
+        }
+        counts.put(function, sum);
+        return sum;
+    }
+
+    /**
+     * Returns the number of nodes one call of valueAt of the original tree evaluates,
+     * counting a node once for every reference to it.
+     * @return the number of node evaluations of the tree
+     */
+    public long getTreeEvaluations(){
+        return treeEvaluations;
+    }
+    /**
+     * Returns the number of operations one call of valueAt of the program runs,
+     * which is the number of distinct nodes that are not constant.
+     * @return the number of operations
+     */
+    public int getNumberOfOperations(){
+        return operations.length;
+    }
+    /**
+     * Returns the DAG of the function, in which structurally identical subtrees are one node.
+     * @return the DAG
+     */
+    public Function getDag(){
+        return dag;
+    }
+
+    /**
+     * Calculates the value of the function by running the operations on the slot array of the current thread.
+     * @param x the input value
+     * @return the calculated value of the function
+     */
+    @Override
+    public double valueAt(double x){
+        double[] slots = this.slots.get();
+        run(x, slots);
+        return slots[result];
+    }
+    /**
+     * Calculates the values of the function at a block of points, reusing one slot array for the block.
+     * @param xs the input values
+     * @param out the array the values are written to
+     */
+    @Override
+    public void valueAt(double[] xs, double[] out){
+        double[] slots = this.slots.get();
+        for ( int i = 0 ; i < xs.length ; i++ ){
+            run(xs[i], slots);
+            out[i] = slots[result];
+        }
+    }
+    private void run(double x, double[] slots){
+        slots[0] = x;
+        for ( int i = 0 ; i < operations.length ; i++ ){
+            int a = firstOperands[i];
+            int b = secondOperands[i];
+            switch (operations[i]){
+                case ADD: slots[targets[i]] = slots[a] + slots[b]; break;
+                case SUBTRACT: slots[targets[i]] = slots[a] - slots[b]; break;
+                case MULTIPLY: slots[targets[i]] = slots[a] * slots[b]; break;
+                case DIVIDE: slots[targets[i]] = slots[a] / slots[b]; break;
+                case NEGATE: slots[targets[i]] = -slots[a]; break;
+                case POW: slots[targets[i]] = Math.pow(slots[a], slots[b]); break;
+                case ROOT: slots[targets[i]] = RationalPower.root(slots[a], slots[b]); break;
+                default: slots[targets[i]] = fallbacks[a].valueAt(x); break;
+            }
+        }
+    }
+
+    /**
+     * Returns the value of the DAG at a point of several variables.
+     * @param point the values of the variables
+     * @return the value of the function at the point
+     */
+    @Override
+    public double valueAtPoint(double[] point){
+        return dag.valueAtPoint(point);
+    }
+    /**
+     * Returns the range of the DAG over an interval.
+     * @param x the interval of inputs
+     * @return an enclosure of the range of the function
+     */
+    @Override
+    public Interval rangeOver(Interval x){
+        return dag.rangeOver(x);
+    }
+    /**
+     * Returns the derivative of the DAG.
+     * @return the derivative of the function as a new Function object
+     */
+    @Override
+    public Function derivative(){
+        return dag.derivative();
+    }
+    /**
+     * Returns the antiderivative of the DAG, if it has one in closed form.
+     * @return an antiderivative, or null if none is known
+     */
+    @Override
+    Function antiderivative(){
+        return dag.antiderivative();
+    }
+    /**
+     * Emits the DAG when a program is part of a larger tree being compiled.
+     * @param emitter the emitter to emit the code to
+     */
+    @Override
+    void compileTo(Emitter emitter){
+        emitter.emit(dag);
+    }
+    /**
+     * Appends the string representation of the DAG.
+     * @param builder the StringBuilder to append to
+     * @param limit the length of the builder after which children are elided
+     */
+    @Override
+    void appendTo(StringBuilder builder, int limit){
+        dag.appendTo(builder, limit);
+    }
+
+    /**
+     * The Builder lowers the DAG into operations on slots. Every distinct node is emitted once
+     * and remembered with its slot. Slot 0 holds x, equal constants share a slot, and an operation
+     * whose operands are constant is computed here and becomes a constant slot.
+     */
+    private static final class Builder extends Emitter {
+        private final Map<Function, Integer> slotsOf = new IdentityHashMap<>();
+        private final Map<Long, Integer> constantSlots = new HashMap<>();
+        private final List<Function> fallbacks = new ArrayList<>();
+        private double[] values = new double[64];
+        private boolean[] constant = new boolean[64];
+        private int numberOfSlots = 1;
+        private byte[] operations = new byte[64];
+        private int[] targets = new int[64];
+        private int[] firstOperands = new int[64];
+        private int[] secondOperands = new int[64];
+        private int length;
+        private int[] stack = new int[16];
+        private int top;
+        private int[] locals = new int[16];
+        private int nextLocal;
+
+        @Override
+        void emit(Function function){
+            Integer slot = slotsOf.get(function);
+            if ( slot != null ){
+                push(slot);
+                return;
+            }
+            int firstLocal = nextLocal;
+            if ( function instanceof Polynomial )
+                fallback(function);
+            else
+                function.compileTo(this);
+            nextLocal = firstLocal;
+            slotsOf.put(function, stack[top - 1]);
+        }
+        @Override
+        void fallback(Function function){
+            fallbacks.add(function);
+            push(record(FALLBACK, fallbacks.size() - 1, 0));
+        }
+        @Override
+        void constant(double value){
+            Integer slot = constantSlots.get(Double.doubleToRawLongBits(value));
+            if ( slot == null ){
+                slot = newSlot();
+                values[slot] = value;
+                constant[slot] = true;
+                constantSlots.put(Double.doubleToRawLongBits(value), slot);
+            }
+            push(slot);
+        }
+        @Override
+        void variable(){
+            push(0);
+        }
+        @Override
+        void add(){
+            binary(ADD);
+        }
+        @Override
+        void subtract(){
+            binary(SUBTRACT);
+        }
+        @Override
+        void multiply(){
+            binary(MULTIPLY);
+        }
+        @Override
+        void divide(){
+            binary(DIVIDE);
+        }
+        @Override
+        void negate(){
+            int a = stack[--top];
+            if ( constant[a] )
+                constant(-values[a]);
+            else
+                push(record(NEGATE, a, 0));
+        }
+        @Override
+        void pow(){
+            binary(POW);
+        }
+        @Override
+        void root(){
+            binary(ROOT);
+        }
+        @Override
+        int store(){
+            if ( nextLocal == locals.length )
+                locals = Arrays.copyOf(locals, nextLocal * 2);
+            locals[nextLocal] = stack[--top];
+            return nextLocal++;
+        }
+        @Override
+        void load(int local){
+            push(locals[local]);
+        }
+
+        private void binary(byte operation){
+            int b = stack[--top];
+            int a = stack[--top];
+            if ( !constant[a] || !constant[b] ){
+                push(record(operation, a, b));
+                return;
+            }
+            double x = values[a];
+            double y = values[b];
+            switch (operation){
+                case ADD: constant(x + y); break;
+                case SUBTRACT: constant(x - y); break;
+                case MULTIPLY: constant(x * y); break;
+                case DIVIDE: constant(x / y); break;
+                case POW: constant(Math.pow(x, y)); break;
+                default: constant(RationalPower.root(x, y)); break;
+            }
+        }
+        private int record(byte operation, int first, int second){
+            if ( length == operations.length ){
+                operations = Arrays.copyOf(operations, length * 2);
+                targets = Arrays.copyOf(targets, length * 2);
+                firstOperands = Arrays.copyOf(firstOperands, length * 2);
+                secondOperands = Arrays.copyOf(secondOperands, length * 2);
+            }
+            int slot = newSlot();
+            operations[length] = operation;
+            targets[length] = slot;
+            firstOperands[length] = first;
+            secondOperands[length] = second;
+            length++;
+            return slot;
+        }
+        private int newSlot(){
+            if ( numberOfSlots == values.length ){
+                values = Arrays.copyOf(values, numberOfSlots * 2);
+                constant = Arrays.copyOf(constant, numberOfSlots * 2);
+            }
+            return numberOfSlots++;
+        }
+        private void push(int slot){
+            if ( top == stack.length )
+                stack = Arrays.copyOf(stack, top * 2);
+            stack[top++] = slot;
+        }
+    }
+}
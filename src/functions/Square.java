@@ -0,0 +1,60 @@
+package functions;
+
+/**
+ * Represents the square of a function, a Power with exponent 2 evaluated as one multiplication.
+ * It extends the Power class.
+ */
+public final class Square extends Power {
+    /**
+     * Constructs the square of a function.
+     * @param base the base function
+     */
+    public Square(Function base){
+        super(base, 2);
+    }
+    /**
+     * Computes the square of the base at the given input.
+     * @param x the input value
+     * @return the square of the base function at x
+     */
+    @Override
+    public double valueAt(double x){
+        double b = base.valueAt(x);
+        return b * b;
+    }
+    /**
+     * Returns the square of the base function at a point of several variables.
+     * @param point the values of the variables
+     * @return the square of the base function at the point
+     */
+    @Override
+    public double valueAtPoint(double[] point){
+        double b = base.valueAtPoint(point);
+        return b * b;
+    }
+    /**
+     * Computes the squares of the base at a block of inputs.
+     * @param xs the input values
+     * @param out the array the results are written to
+     */
+    @Override
+    public void valueAt(double[] xs, double[] out){
+        base.valueAt(xs, out);
+        for ( int i = 0 ; i < xs.length ; i++ ){
+            out[i] = out[i] * out[i];
+        }
+    }
+    /**
+     * Calculates the value and the derivative of the square, evaluating the base once.
+     * @param x the input value
+     * @return a new array holding the value and the derivative at x
+     */
+    @Override
+    public double[] valueAndDerivativeAt(double x){
+        double[] result = base.valueAndDerivativeAt(x);
+        double b = result[0];
+        result[0] = b * b;
+        result[1] = 2 * b * result[1];
+        return result;
+    }
+}
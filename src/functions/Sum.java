@@ -0,0 +1,88 @@
+package functions;
+
+public class Sum extends Function {
+    private final Function f;
+    private final Function g;
+
+    public Sum(Function f, Function g){
+        this.f = f;
+        this.g = g;
+    }
+    @Override
+    public double valueAt(double x){
+        return f.valueAt(x) + g.valueAt(x);
+    }
+    @Override
+    public double valueAtPoint(double[] point){
+        return f.valueAtPoint(point) + g.valueAtPoint(point);
+    }
+    @Override
+    public double[] valueAndDerivativeAt(double x){
+        double[] a = f.valueAndDerivativeAt(x);
+        double[] b = g.valueAndDerivativeAt(x);
+        a[0] = a[0] + b[0];
+        a[1] = a[1] + b[1];
+        return a;
+    }
+    @Override
+    public void valueAt(double[] xs, double[] out){
+        double[] gValues = new double[xs.length];
+        f.valueAt(xs, out);
+        g.valueAt(xs, gValues);
+        for ( int i = 0 ; i < xs.length ; i++ ){
+            out[i] += gValues[i];
+        }
+    }
+    @Override
+    public Interval rangeOver(Interval x){
+        return f.rangeOver(x).add(g.rangeOver(x));
+    }
+    @Override
+    void compileTo(Emitter emitter){
+        emitter.emit(f);
+        emitter.emit(g);
+        emitter.add();
+    }
+    @Override
+    Function[] children(){
+        return new Function[]{ f, g };
+    }
+    @Override
+    Function withChildren(Function[] children){
+        return new Sum(children[0], children[1]);
+    }
+    @Override
+    boolean sameData(Function other){
+        return true;
+    }
+    @Override
+    int dataHash(){
+        return 0;
+    }
+    @Override
+    public Function simplify(){
+        Function a = simplifiedOf(f);
+        Function b = simplifiedOf(g);
+        Polynomial p = Polynomial.of(a);
+        Polynomial q = Polynomial.of(b);
+        if ( p != null && q != null )
+            return p.add(q).simplify();
+        if ( Constant.is(a, 0) )
+            return b;
+        if ( Constant.is(b, 0) )
+            return a;
+        return a == f && b == g ? this : new Sum(a, b);
+    }
+    @Override
+    void appendTo(StringBuilder builder, int limit) {
+        builder.append('(');
+        append(builder, f, limit);
+        builder.append(" + ");
+        append(builder, g, limit);
+        builder.append(')');
+    }
+    @Override
+    public Function derivative() {
+        return new Sum( derivativeOf(f), derivativeOf(g) );
+    }
+}
@@ -0,0 +1,552 @@
+package functions;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The Tape class is a function lowered into a flat postfix program for a stack machine.
+ * The program lives in a ByteBuffer, which may be a direct buffer outside the heap:
+ * a constant pool of doubles followed by one byte per operation, and a four byte operand
+ * for the operations that take one. A tape keeps no reference to the tree it was made from,
+ * so many tapes can be packed into one large direct buffer with little heap cost.
+ * Nodes that are referenced more than once are computed once and kept in a local slot.
+ * The tape performs the same operations in the same order as the tree,
+ * so its values are bit-identical to the values of the tree.
+ * Decoding the operations costs more than a virtual call per node, so a tape is meant
+ * to be evaluated through the block valueAt, which decodes every operation once per block.
+ * The stack and the locals of valueAt, and the rows of the block valueAt, are scratch arrays
+ * shared by all the tapes of a thread, grown to the largest tape it has run,
+ * so evaluating a point or a full block allocates nothing.
+ * It extends the Function class.
+ */
+public final class Tape extends Function {
+    private static final byte CONSTANT = 0;
+    private static final byte VARIABLE = 1;
+    private static final byte ADD = 2;
+    private static final byte SUBTRACT = 3;
+    private static final byte MULTIPLY = 4;
+    private static final byte DIVIDE = 5;
+    private static final byte NEGATE = 6;
+    private static final byte POW = 7;
+    private static final byte ROOT = 8;
+    private static final byte STORE = 9;
+    private static final byte LOAD = 10;
+    private static final byte FALLBACK = 11;
+    /**
+     * The number of points the block valueAt runs through one operation at a time.
+     */
+    private static final int BLOCK_SIZE = 256;
+    private static final Function[] NO_FALLBACKS = new Function[0];
+    /**
+     * The stack of valueAt followed by its locals, shared by the tapes of a thread.
+     * A tape takes the array out while it runs, so a tape run by one of its fallbacks gets another one.
+     */
+    private static final ThreadLocal<double[]> SCRATCH = new ThreadLocal<>();
+    /**
+     * The rows of the block valueAt, the block of inputs followed by the stack and the locals,
+     * shared by the tapes of a thread and taken out while a tape runs, like SCRATCH.
+     */
+    private static final ThreadLocal<double[][]> BLOCK_SCRATCH = new ThreadLocal<>();
+
+    private final ByteBuffer data;
+    private final int codeStart;
+    private final int maxStack;
+    private final int numberOfLocals;
+    private final Function[] fallbacks;
+
+    private Tape(ByteBuffer data, int codeStart, int maxStack, int numberOfLocals, Function[] fallbacks){
+        this.data = data;
+        this.codeStart = codeStart;
+        this.maxStack = maxStack;
+        this.numberOfLocals = numberOfLocals;
+        this.fallbacks = fallbacks;
+    }
+
+    /**
+     * Lowers a function into a tape held in a new heap buffer.
+     * @param function the function to lower
+     * @return the tape
+     */
+    static Tape of(Function function){
+        Recorder recorder = Recorder.record(function);
+        return recorder.writeTo(ByteBuffer.allocate(recorder.byteSize()));
+    }
+    /**
+     * Lowers a function into a tape written to the buffer at its position, which is advanced past the tape.
+     * @param function the function to lower
+     * @param destination the buffer to write the tape to, for example a large direct buffer shared by many tapes
+     * @return the tape, which reads from the written part of the buffer
+     * @throws BufferOverflowException if the tape does not fit in the remaining part of the buffer
+     */
+    static Tape of(Function function, ByteBuffer destination){
+        return Recorder.record(function).writeTo(destination);
+    }
+
+    /**
+     * Returns the number of bytes the tape takes in its buffer.
+     * @return the size of the tape in bytes
+     */
+    public int byteSize(){
+        return data.capacity();
+    }
+    /**
+     * Tells whether the tape is stored outside the heap.
+     * @return true if the buffer of the tape is direct
+     */
+    public boolean isDirect(){
+        return data.isDirect();
+    }
+
+    /**
+     * Calculates the value of the function by running the tape on the scratch array of the current thread.
+     * @param x the input value
+     * @return the calculated value of the function
+     */
+    @Override
+    public double valueAt(double x){
+        double[] stack = SCRATCH.get();
+        if ( stack == null || stack.length < maxStack + numberOfLocals )
+            stack = new double[maxStack + numberOfLocals];
+        SCRATCH.set(null);
+        int locals = maxStack;
+        int top = 0;
+        int pc = codeStart;
+        int end = data.capacity();
+        while ( pc < end ){
+            switch (data.get(pc++)){
+                case CONSTANT:
+                    stack[top++] = data.getDouble(data.getInt(pc));
+                    pc += 4;
+                    break;
+                case VARIABLE:
+                    stack[top++] = x;
+                    break;
+                case ADD:
+                    top--;
+                    stack[top - 1] = stack[top - 1] + stack[top];
+                    break;
+                case SUBTRACT:
+                    top--;
+                    stack[top - 1] = stack[top - 1] - stack[top];
+                    break;
+                case MULTIPLY:
+                    top--;
+                    stack[top - 1] = stack[top - 1] * stack[top];
+                    break;
+                case DIVIDE:
+                    top--;
+                    stack[top - 1] = stack[top - 1] / stack[top];
+                    break;
+                case NEGATE:
+                    stack[top - 1] = -stack[top - 1];
+                    break;
+                case POW:
+                    top--;
+                    stack[top - 1] = Math.pow(stack[top - 1], stack[top]);
+                    break;
+                case ROOT:
+                    top--;
+                    stack[top - 1] = RationalPower.root(stack[top - 1], stack[top]);
+                    break;
+                case STORE:
+                    stack[locals + data.getInt(pc)] = stack[--top];
+                    pc += 4;
+                    break;
+                case LOAD:
+                    stack[top++] = stack[locals + data.getInt(pc)];
+                    pc += 4;
+                    break;
+                default:
+                    stack[top++] = fallbacks[data.getInt(pc)].valueAt(x);
+                    pc += 4;
+                    break;
+            }
+        }
+        SCRATCH.set(stack);
+        return stack[0];
+    }
+    /**
+     * Calculates the values of the function at a block of points.
+     * The points are processed in blocks of BLOCK_SIZE, every operation of the tape runs over
+     * a whole block before the next one, so the cost of decoding the tape is paid once per block.
+     * @param xs the input values
+     * @param out the array the values are written to, at least as long as xs and not xs itself
+     */
+    @Override
+    public void valueAt(double[] xs, double[] out){
+        double[][] rows = BLOCK_SCRATCH.get();
+        int size = 1 + maxStack + numberOfLocals;
+        if ( rows == null || rows.length < size ){
+            int length = rows == null ? 0 : rows.length;
+            rows = rows == null ? new double[size][] : Arrays.copyOf(rows, size);
+            for ( int i = length ; i < size ; i++ ) rows[i] = new double[BLOCK_SIZE];
+        }
+        BLOCK_SCRATCH.set(null);
+        for ( int from = 0 ; from < xs.length ; from += BLOCK_SIZE ){
+            int n = Math.min(BLOCK_SIZE, xs.length - from);
+            System.arraycopy(xs, from, rows[0], 0, n);
+            runBlock(rows, n);
+            System.arraycopy(rows[1], 0, out, from, n);
+        }
+        BLOCK_SCRATCH.set(rows);
+    }
+    /**
+     * Runs the tape over one block of n points. Row 0 holds the inputs, the stack starts at row 1
+     * and the locals follow the stack.
+     */
+    private void runBlock(double[][] stack, int n){
+        double[] x = stack[0];
+        int locals = 1 + maxStack;
+        int top = 1;
+        int pc = codeStart;
+        int end = data.capacity();
+        while ( pc < end ){
+            byte operation = data.get(pc++);
+            double[] a = top >= 3 ? stack[top - 2] : null;
+            double[] b = top >= 2 ? stack[top - 1] : null;
+            switch (operation){
+                case CONSTANT:
+                    Arrays.fill(stack[top++], 0, n, data.getDouble(data.getInt(pc)));
+                    pc += 4;
+                    break;
+                case VARIABLE:
+                    System.arraycopy(x, 0, stack[top++], 0, n);
+                    break;
+                case ADD:
+                    for ( int i = 0 ; i < n ; i++ ) a[i] = a[i] + b[i];
+                    top--;
+                    break;
+                case SUBTRACT:
+                    for ( int i = 0 ; i < n ; i++ ) a[i] = a[i] - b[i];
+                    top--;
+                    break;
+                case MULTIPLY:
+                    for ( int i = 0 ; i < n ; i++ ) a[i] = a[i] * b[i];
+                    top--;
+                    break;
+                case DIVIDE:
+                    for ( int i = 0 ; i < n ; i++ ) a[i] = a[i] / b[i];
+                    top--;
+                    break;
+                case NEGATE:
+                    for ( int i = 0 ; i < n ; i++ ) b[i] = -b[i];
+                    break;
+                case POW:
+                    for ( int i = 0 ; i < n ; i++ ) a[i] = Math.pow(a[i], b[i]);
+                    top--;
+                    break;
+                case ROOT:
+                    for ( int i = 0 ; i < n ; i++ ) a[i] = RationalPower.root(a[i], b[i]);
+                    top--;
+                    break;
+                case STORE:
+                    System.arraycopy(stack[--top], 0, stack[locals + data.getInt(pc)], 0, n);
+                    pc += 4;
+                    break;
+                case LOAD:
+                    System.arraycopy(stack[locals + data.getInt(pc)], 0, stack[top++], 0, n);
+                    pc += 4;
+                    break;
+                default:
+                    fallbacks[data.getInt(pc)].valueAt(n == x.length ? x : Arrays.copyOf(x, n), stack[top++]);
+                    pc += 4;
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Returns an interval containing every value of the function for x in the given interval,
+     * by running the tape on a stack of intervals. Raising to a power that is not an integer
+     * constant gives the whole real line.
+     * @param x the interval of inputs
+     * @return an enclosure of the range of the function
+     */
+    @Override
+    public Interval rangeOver(Interval x){
+        Interval[] stack = new Interval[maxStack];
+        Interval[] locals = new Interval[numberOfLocals];
+        int top = 0;
+        int pc = codeStart;
+        int end = data.capacity();
+        while ( pc < end ){
+            byte operation = data.get(pc++);
+            int operand = hasOperand(operation) ? data.getInt(pc) : 0;
+            if ( hasOperand(operation) )
+                pc += 4;
+            switch (operation){
+                case CONSTANT: stack[top++] = Interval.point(data.getDouble(operand)); break;
+                case VARIABLE: stack[top++] = x; break;
+                case ADD: top--; stack[top - 1] = stack[top - 1].add(stack[top]); break;
+                case SUBTRACT: top--; stack[top - 1] = stack[top - 1].subtract(stack[top]); break;
+                case MULTIPLY: top--; stack[top - 1] = stack[top - 1].multiply(stack[top]); break;
+                case DIVIDE: top--; stack[top - 1] = stack[top - 1].divide(stack[top]); break;
+                case NEGATE: stack[top - 1] = stack[top - 1].negate(); break;
+                case POW:
+                    top--;
+                    double exponent = stack[top].getLower();
+                    if ( exponent == stack[top].getUpper() && exponent == (int) exponent )
+                        stack[top - 1] = stack[top - 1].pow((int) exponent);
+                    else
+                        stack[top - 1] = Interval.ENTIRE;
+                    break;
+                case ROOT:
+                    top--;
+                    stack[top - 1] = RationalPower.range(stack[top - 1], 1, (int) stack[top].getLower());
+                    break;
+                case STORE: locals[operand] = stack[--top]; break;
+                case LOAD: stack[top++] = locals[operand]; break;
+                default: stack[top++] = fallbacks[operand].rangeOver(x); break;
+            }
+        }
+        return stack[0];
+    }
+    /**
+     * Replays the tape into another emitter, so that a tape can be compiled,
+     * differentiated by JetEvaluator or be part of a larger tree.
+     * @param emitter the emitter to emit the code to
+     */
+    @Override
+    void compileTo(Emitter emitter){
+        int[] slots = new int[numberOfLocals];
+        int pc = codeStart;
+        int end = data.capacity();
+        while ( pc < end ){
+            byte operation = data.get(pc++);
+            int operand = hasOperand(operation) ? data.getInt(pc) : 0;
+            if ( hasOperand(operation) )
+                pc += 4;
+            switch (operation){
+                case CONSTANT: emitter.constant(data.getDouble(operand)); break;
+                case VARIABLE: emitter.variable(); break;
+                case ADD: emitter.add(); break;
+                case SUBTRACT: emitter.subtract(); break;
+                case MULTIPLY: emitter.multiply(); break;
+                case DIVIDE: emitter.divide(); break;
+                case NEGATE: emitter.negate(); break;
+                case POW: emitter.pow(); break;
+                case ROOT: emitter.root(); break;
+                case STORE: slots[operand] = emitter.store(); break;
+                case LOAD: emitter.load(slots[operand]); break;
+                default: emitter.emit(fallbacks[operand]); break;
+            }
+        }
+    }
+    /**
+     * Rebuilds a tree from the tape. Every operation becomes a node, so the tree computes the same
+     * values as the tape, though it is usually larger than the tree the tape was made from:
+     * a polynomial, for example, comes back as the sums and products of its evaluation scheme.
+     * Values kept in a local slot become subtrees shared by all their uses.
+     * @return the rebuilt function
+     * @throws IllegalStateException if the tape raises a value to a power that is not an integer constant
+     */
+    public Function toFunction(){
+        Function[] stack = new Function[maxStack];
+        Function[] locals = new Function[numberOfLocals];
+        Function variable = new Polynomial(0, 1);
+        int top = 0;
+        int pc = codeStart;
+        int end = data.capacity();
+        while ( pc < end ){
+            byte operation = data.get(pc++);
+            int operand = hasOperand(operation) ? data.getInt(pc) : 0;
+            if ( hasOperand(operation) )
+                pc += 4;
+            switch (operation){
+                case CONSTANT: stack[top++] = new Constant(data.getDouble(operand)); break;
+                case VARIABLE: stack[top++] = variable; break;
+                case ADD: top--; stack[top - 1] = new Sum(stack[top - 1], stack[top]); break;
+                case SUBTRACT: top--; stack[top - 1] = new Difference(stack[top - 1], stack[top]); break;
+                case MULTIPLY: top--; stack[top - 1] = new Product(stack[top - 1], stack[top]); break;
+                case DIVIDE: top--; stack[top - 1] = new Quotient(stack[top - 1], stack[top]); break;
+                case NEGATE: stack[top - 1] = new Negation(stack[top - 1]); break;
+                case POW:
+                    top--;
+                    if ( !(stack[top] instanceof Constant) || ((Constant) stack[top]).y != (int) ((Constant) stack[top]).y )
+                        throw new IllegalStateException("the tape raises to a power that is not an integer constant");
+                    stack[top - 1] = Power.of(stack[top - 1], (int) ((Constant) stack[top]).y);
+                    break;
+                case ROOT:
+                    top--;
+                    stack[top - 1] = Power.of(stack[top - 1], 1, (int) ((Constant) stack[top]).y);
+                    break;
+                case STORE: locals[operand] = stack[--top]; break;
+                case LOAD: stack[top++] = locals[operand]; break;
+                default: stack[top++] = fallbacks[operand]; break;
+            }
+        }
+        return stack[0];
+    }
+    /**
+     * Appends the string representation of the tree rebuilt from the tape.
+     * @param builder the StringBuilder to append to
+     * @param limit the length of the builder after which children are elided
+     */
+    @Override
+    void appendTo(StringBuilder builder, int limit){
+        toFunction().appendTo(builder, limit);
+    }
+    /**
+     * Returns the derivative of the tree rebuilt from the tape.
+     * @return the derivative of the function as a new Function object
+     */
+    @Override
+    public Function derivative(){
+        return toFunction().derivative();
+    }
+
+    private static boolean hasOperand(byte operation){
+        return operation == CONSTANT || operation >= STORE;
+    }
+
+    /**
+     * The Recorder collects the operations emitted by a tree, counting the references to every node
+     * in a first pass and recording the operations in a second one, like FunctionCompiler.
+     */
+    private static final class Recorder extends Emitter {
+        private final Map<Function, Integer> references = new IdentityHashMap<>();
+        private final Map<Function, Integer> locals = new IdentityHashMap<>();
+        private final Map<Long, Integer> constantIndices = new HashMap<>();
+        private final List<Double> constants = new ArrayList<>();
+        private final List<Function> fallbacks = new ArrayList<>();
+        private byte[] operations = new byte[64];
+        private int[] operands = new int[64];
+        private int length;
+        private int codeSize;
+        private boolean counting = true;
+        private int stack;
+        private int maxStack;
+        private int nextLocal;
+
+        static Recorder record(Function function){
+            Recorder recorder = new Recorder();
+            recorder.emit(function);
+            recorder.counting = false;
+            recorder.emit(function);
+            return recorder;
+        }
+
+        int byteSize(){
+            return Double.BYTES * constants.size() + codeSize;
+        }
+        Tape writeTo(ByteBuffer destination){
+            if ( destination.remaining() < byteSize() )
+                throw new BufferOverflowException();
+            ByteBuffer data = destination.slice(destination.position(), byteSize()).order(ByteOrder.nativeOrder());
+            destination.position(destination.position() + byteSize());
+            for ( int i = 0 ; i < constants.size() ; i++ ){
+                data.putDouble(constants.get(i));
+            }
+            for ( int i = 0 ; i < length ; i++ ){
+                data.put(operations[i]);
+                if ( hasOperand(operations[i]) )
+                    data.putInt(operands[i]);
+            }
+            data.clear();
+            Function[] fallbackArray = fallbacks.isEmpty() ? NO_FALLBACKS : fallbacks.toArray(new Function[0]);
+            return new Tape(data, Double.BYTES * constants.size(), maxStack, nextLocal, fallbackArray);
+        }
+
+        @Override
+        void emit(Function function){
+            if ( counting ){
+                if ( references.merge(function, 1, Integer::sum) == 1 )
+                    function.compileTo(this);
+                return;
+            }
+            Integer local = locals.get(function);
+            if ( local != null ){
+                load(local);
+                return;
+            }
+            function.compileTo(this);
+            if ( references.get(function) > 1 ){
+                int slot = store();
+                locals.put(function, slot);
+                load(slot);
+            }
+        }
+        @Override
+        void fallback(Function function){
+            if ( counting )
+                return;
+            fallbacks.add(function);
+            record(FALLBACK, fallbacks.size() - 1, 1);
+        }
+        @Override
+        void constant(double value){
+            if ( counting )
+                return;
+            Integer index = constantIndices.computeIfAbsent(Double.doubleToRawLongBits(value), bits -> {
+                constants.add(value);
+                return Double.BYTES * (constants.size() - 1);
+            });
+            record(CONSTANT, index, 1);
+        }
+        @Override
+        void variable(){
+            record(VARIABLE, 0, 1);
+        }
+        @Override
+        void add(){
+            record(ADD, 0, -1);
+        }
+        @Override
+        void subtract(){
+            record(SUBTRACT, 0, -1);
+        }
+        @Override
+        void multiply(){
+            record(MULTIPLY, 0, -1);
+        }
+        @Override
+        void divide(){
+            record(DIVIDE, 0, -1);
+        }
+        @Override
+        void negate(){
+            record(NEGATE, 0, 0);
+        }
+        @Override
+        void pow(){
+            record(POW, 0, -1);
+        }
+        @Override
+        void root(){
+            record(ROOT, 0, -1);
+        }
+        @Override
+        int store(){
+            if ( counting )
+                return 0;
+            record(STORE, nextLocal, -1);
+            return nextLocal++;
+        }
+        @Override
+        void load(int local){
+            record(LOAD, local, 1);
+        }
+
+        private void record(byte operation, int operand, int stackChange){
+            if ( counting )
+                return;
+            if ( length == operations.length ){
+                operations = Arrays.copyOf(operations, 2 * length);
+                operands = Arrays.copyOf(operands, 2 * length);
+            }
+            operations[length] = operation;
+            operands[length] = operand;
+            length++;
+            codeSize += hasOperand(operation) ? 5 : 1;
+            stack += stackChange;
+            maxStack = Math.max(maxStack, stack);
+        }
+    }
+}
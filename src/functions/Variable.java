@@ -0,0 +1,102 @@
+package functions;
+
+/**
+ * The Variable class represents one variable x_i of a function of several variables.
+ * Functions of several variables are built from Variable nodes with the usual nodes and
+ * evaluated with valueAtPoint and gradientAt. Every other node depends on x, which is x_0:
+ * a Polynomial is a polynomial in x_0, and derivative is the partial derivative by x_0.
+ * The variables other than x_0 have no value in valueAt, which evaluates a function of x alone.
+ * It extends the Function class.
+ */
+public class Variable extends Function {
+    private final int index;
+
+    /**
+     * Constructs the variable with the specified index.
+     * @param index the index of the variable in the points it is evaluated at, at least 0
+     * @throws IllegalArgumentException if the index is negative
+     */
+    public Variable(int index) {
+        if ( index < 0 )
+            throw new IllegalArgumentException("negative variable index " + index);
+        this.index = index;
+    }
+    /**
+     * Returns the index of the variable.
+     * @return the index
+     */
+    public int getIndex() {
+        return index;
+    }
+    /**
+     * Returns x if this is x_0.
+     * @param x the input value
+     * @return x
+     * @throws IllegalStateException if this is not x_0
+     */
+    @Override
+    public double valueAt(double x) {
+        if ( index != 0 )
+            throw new IllegalStateException("x_" + index + " has no value in a function of x alone, use valueAtPoint");
+        return x;
+    }
+    /**
+     * Returns the coordinate of the point for this variable.
+     * @param point the values of the variables
+     * @return the value of the variable
+     * @throws IllegalArgumentException if the point has no coordinate for this variable
+     */
+    @Override
+    public double valueAtPoint(double[] point) {
+        if ( index >= point.length )
+            throw new IllegalArgumentException("x_" + index + " is not a variable of a point of " + point.length + " variables");
+        return point[index];
+    }
+    /**
+     * Returns the interval of inputs for x_0, and the whole real line for the other variables.
+     * @param x the interval of inputs
+     * @return the range of the variable
+     */
+    @Override
+    public Interval rangeOver(Interval x) {
+        return index == 0 ? x : Interval.ENTIRE;
+    }
+    /**
+     * Emits the code that pushes the variable.
+     * @param emitter the emitter to emit the code to
+     */
+    @Override
+    void compileTo(Emitter emitter) {
+        emitter.variable(this);
+    }
+    /**
+     * Compares the indices of two variables.
+     * @param other another Variable
+     * @return true if the indices are equal
+     */
+    @Override
+    boolean sameData(Function other) {
+        return index == ((Variable) other).index;
+    }
+    @Override
+    int dataHash() {
+        return index;
+    }
+    /**
+     * Appends a string representation of the variable in the format "x_i".
+     * @param builder the StringBuilder to append to
+     * @param limit the length of the builder after which children are elided
+     */
+    @Override
+    void appendTo(StringBuilder builder, int limit) {
+        builder.append("x_").append(index);
+    }
+    /**
+     * Returns the partial derivative by x_0, which is 1 for x_0 and 0 for the other variables.
+     * @return the derivative of the variable
+     */
+    @Override
+    public Function derivative() {
+        return new Constant(index == 0 ? 1.0 : 0.0);
+    }
+}